@@ -0,0 +1,168 @@
+package org.example;
+
+import java.util.function.Consumer;
+
+// Depth-first backtracking on a single board. Moves are made and undone in place, only the move code
+// of every level is kept (2 bits each), and the goal test is a count of cells that still differ from
+// the goal, updated by the two cells every move touches. Jumps over a frog of the same color are never
+// tried, and neither are moves that lock a run of frogs: a run that starts with LL (or at the left edge)
+// and ends with RR (or at the right edge) can never move again, so if it differs from the goal the
+// whole subtree is dead.
+public class BacktrackingSolver {
+    // source offsets from the empty spot, jumps first since every frog has to pass all the others
+    private static final int[] OFFSETS = { -2, 2, -1, 1 };
+    private static final char[] FROGS = { 'L', 'R', 'L', 'R' };
+    private static final int JUMPS = 2;
+    private static final int BITS_PER_MOVE = 2;
+    private static final int MOVES_PER_WORD = Long.SIZE / BITS_PER_MOVE;
+    private static final int NO_MOVE = -1;
+
+    private final char[] board;
+    private final char[] goal;
+    private long[] moves = new long[1];
+    private int depth;
+    private int zeroState;
+    private int mismatches;
+    private long visitedNodes;
+
+    public BacktrackingSolver(char[] start, char[] goal) {
+        this.board = start.clone();
+        this.goal = goal;
+        this.zeroState = LeapFrogPuzzle.findZeroState(board);
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] != goal[i]) {
+                mismatches++;
+            }
+        }
+    }
+
+    // returns the number of moves, then replays them from the start board through the consumer
+    public int solve(Consumer<char[]> consumer) {
+        char[] start = board.clone();
+        int nextCode = 0;
+        while (mismatches != 0) {
+            int code = findMove(nextCode);
+            if (code != NO_MOVE) {
+                push(code);
+                nextCode = 0;
+            } else if (depth == 0) {
+                throw new IllegalArgumentException("No path found!");
+            } else {
+                code = pop();
+                undo(code);
+                nextCode = code + 1;
+            }
+        }
+        replay(start, consumer);
+        return depth;
+    }
+
+    public long getVisitedNodes() {
+        return visitedNodes;
+    }
+
+    // applies and returns the first move from firstCode on that does not lock a run
+    private int findMove(int firstCode) {
+        for (int code = firstCode; code < OFFSETS.length; code++) {
+            int from = zeroState + OFFSETS[code];
+            if (from < 0 || from >= board.length || board[from] != FROGS[code]
+                    || (code < JUMPS && board[(from + zeroState) / 2] == FROGS[code])) {
+                continue;
+            }
+            int to = zeroState;
+            apply(code);
+            if (!isLocked(to)) {
+                return code;
+            }
+            undo(code);
+        }
+        return NO_MOVE;
+    }
+
+    // Only the run through the cell a frog just landed on can have become locked, so only that run is
+    // scanned. Its locked part goes from the first LL (or the left edge) to the last RR (or the right edge).
+    private boolean isLocked(int cell) {
+        int first = cell;
+        while (first > 0 && board[first - 1] != '_') {
+            first--;
+        }
+        int last = cell;
+        while (last < board.length - 1 && board[last + 1] != '_') {
+            last++;
+        }
+        int lockedFirst = first == 0 ? 0 : -1;
+        for (int i = first; lockedFirst == -1 && i <= cell && i < last; i++) {
+            if (board[i] == 'L' && board[i + 1] == 'L') {
+                lockedFirst = i;
+            }
+        }
+        int lockedLast = last == board.length - 1 ? last : -1;
+        for (int i = last; lockedLast == -1 && i >= cell && i > first; i--) {
+            if (board[i] == 'R' && board[i - 1] == 'R') {
+                lockedLast = i;
+            }
+        }
+        if (lockedFirst == -1 || lockedLast == -1) {
+            return false;
+        }
+        for (int i = lockedFirst; i <= lockedLast; i++) {
+            if (board[i] != goal[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void apply(int code) {
+        visitedNodes++;
+        int from = zeroState + OFFSETS[code];
+        move(from, zeroState);
+        zeroState = from;
+    }
+
+    private void undo(int code) {
+        int to = zeroState - OFFSETS[code];
+        move(to, zeroState);
+        zeroState = to;
+    }
+
+    // moves whatever sits on from into the empty spot at to, keeping the mismatch count current
+    private void move(int from, int to) {
+        mismatches -= (board[from] != goal[from] ? 1 : 0) + (board[to] != goal[to] ? 1 : 0);
+        board[to] = board[from];
+        board[from] = '_';
+        mismatches += (board[from] != goal[from] ? 1 : 0) + (board[to] != goal[to] ? 1 : 0);
+    }
+
+    private void push(int code) {
+        if (depth / MOVES_PER_WORD == moves.length) {
+            long[] newMoves = new long[moves.length * 2];
+            System.arraycopy(moves, 0, newMoves, 0, moves.length);
+            moves = newMoves;
+        }
+        int shift = (depth % MOVES_PER_WORD) * BITS_PER_MOVE;
+        moves[depth / MOVES_PER_WORD] = (moves[depth / MOVES_PER_WORD] & ~(0x3L << shift)) | ((long) code << shift);
+        depth++;
+    }
+
+    private int pop() {
+        depth--;
+        return getMove(depth);
+    }
+
+    private int getMove(int index) {
+        return (int) ((moves[index / MOVES_PER_WORD] >>> ((index % MOVES_PER_WORD) * BITS_PER_MOVE)) & 0x3L);
+    }
+
+    private void replay(char[] start, Consumer<char[]> consumer) {
+        int empty = LeapFrogPuzzle.findZeroState(start);
+        consumer.accept(start);
+        for (int i = 0; i < depth; i++) {
+            int from = empty + OFFSETS[getMove(i)];
+            start[empty] = start[from];
+            start[from] = '_';
+            empty = from;
+            consumer.accept(start);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Writes boards through one reusable direct buffer that goes to the channel only when it is full, so a
+// path of any length costs a handful of large writes and no per-board objects. In the compact format
+// the first board is written as text and every move after it as one byte: the index of the frog that
+// moved relative to the empty spot it moved into (-2, -1, 1 or 2).
+public class BoardWriter implements Consumer<char[]>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final boolean compact;
+    private int zeroState = -1;
+
+    public BoardWriter(FileChannel channel, boolean compact) {
+        this.channel = channel;
+        this.compact = compact;
+    }
+
+    // unlike System.out, a failed write surfaces here, so a closed pipe stops the solver
+    public static BoardWriter toStandardOutput(boolean compact) {
+        return new BoardWriter(new FileOutputStream(FileDescriptor.out).getChannel(), compact);
+    }
+
+    public static BoardWriter toFile(Path path, boolean compact) throws IOException {
+        return new BoardWriter(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), compact);
+    }
+
+    @Override
+    public void accept(char[] board) {
+        try {
+            if (compact && zeroState != -1) {
+                int next = findNextZeroState(board);
+                ensureRemaining(1);
+                buffer.put((byte) (next - zeroState));
+                zeroState = next;
+            } else {
+                writeBoard(board);
+                zeroState = LeapFrogPuzzle.findZeroState(board);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // boards are written as ASCII, one byte per cell, so long boards are copied in buffer sized pieces
+    private void writeBoard(char[] board) throws IOException {
+        int cell = 0;
+        while (cell < board.length) {
+            ensureRemaining(1);
+            int end = Math.min(board.length, cell + buffer.remaining());
+            for (; cell < end; cell++) {
+                buffer.put((byte) board[cell]);
+            }
+        }
+        ensureRemaining(1);
+        buffer.put((byte) '\n');
+    }
+
+    // the empty spot moves at most two cells per move
+    private int findNextZeroState(char[] board) {
+        for (int delta = -2; delta <= 2; delta++) {
+            int cell = zeroState + delta;
+            if (delta != 0 && cell >= 0 && cell < board.length && board[cell] == '_') {
+                return cell;
+            }
+        }
+        throw new IllegalArgumentException("Boards are not one move apart!");
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example;
+
+import java.util.function.Consumer;
+
+public class ConstructiveSolver {
+
+    // The optimal solution moves one color at a time in groups of 1, 2, ..., n, n, n, ..., 2, 1 moves,
+    // starting with the L frogs. Inside a group a frog jumps over a frog of the other color when it can
+    // and slides otherwise, which gives (n + 1)^2 - 1 moves. Every board, starting with the initial one,
+    // is handed to the consumer in the same array, so nothing but the board itself is kept.
+    public static long solve(int n, Consumer<char[]> consumer) {
+        char[] board = LeapFrogPuzzle.createBoard((n * 2) + 1);
+        int zeroState = n;
+        consumer.accept(board);
+
+        long moves = 0;
+        int groups = (n * 2) + 1;
+        char frog = 'L';
+        for (int group = 0; group < groups; group++) {
+            int groupSize = group < n ? group + 1 : group > n ? groups - group : n;
+            for (int i = 0; i < groupSize; i++) {
+                zeroState = moveFrog(board, zeroState, frog);
+                moves++;
+                consumer.accept(board);
+            }
+            frog = frog == 'L' ? 'R' : 'L';
+        }
+        return moves;
+    }
+
+    // L frogs move right into the empty spot and R frogs move left
+    private static int moveFrog(char[] board, int zeroState, char frog) {
+        int direction = frog == 'L' ? -1 : 1;
+        int jump = zeroState + 2 * direction;
+        int slide = zeroState + direction;
+        int from;
+        if (jump >= 0 && jump < board.length && board[jump] == frog && board[slide] != frog) {
+            from = jump;
+        } else if (slide >= 0 && slide < board.length && board[slide] == frog) {
+            from = slide;
+        } else {
+            throw new IllegalStateException("No " + frog + " frog can move into " + zeroState + "!");
+        }
+        board[zeroState] = frog;
+        board[from] = '_';
+        return from;
+    }
+}
@@ -1,5 +1,7 @@
 package org.example;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -7,21 +9,114 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 public class LeapFrogPuzzle {
+    private static final String CONSTRUCTIVE_OPTION = "--constructive";
+    private static final String PACKED_OPTION = "--packed";
+    private static final String BACKTRACKING_OPTION = "--backtracking";
+    private static final String COMPACT_OPTION = "--compact";
+    private static final String OUTPUT_OPTION = "--output=";
+    private static final String PARALLEL_OPTION = "--parallel";
+    private static final String START_OPTION = "--start=";
+    private static final String GOAL_OPTION = "--goal=";
+    private static final String SCALING_OPTION = "--scaling";
+
+    public static void main(String[] args) throws IOException {
+        if (Arrays.stream(args).anyMatch(arg -> arg.equals(PARALLEL_OPTION) || arg.startsWith(PARALLEL_OPTION + "="))) {
+            solveInParallel(args);
+            return;
+        }
 
-    public static void main(String[] args) {
         int n = readInput();
+        if (Arrays.asList(args).contains(CONSTRUCTIVE_OPTION)) {
+            try (BoardWriter out = openOutput(args)) {
+                ConstructiveSolver.solve(n, out);
+            }
+            return;
+        }
+
         int size = (n * 2) + 1;
         char[] board = createBoard(size);
+        if (Arrays.asList(args).contains(BACKTRACKING_OPTION)) {
+            BacktrackingSolver solver = new BacktrackingSolver(board, createGoalBoard(size));
+            try (BoardWriter out = openOutput(args)) {
+                solver.solve(out);
+            }
+            System.err.println("Visited nodes: " + solver.getVisitedNodes());
+            return;
+        }
+        if (Arrays.asList(args).contains(PACKED_OPTION)) {
+            PackedBfsSolver solver = new PackedBfsSolver(size);
+            List<char[]> path = solver.solve(board, createGoalBoard(size));
+            try (BoardWriter out = openOutput(args)) {
+                path.forEach(out);
+            }
+            System.err.println("Visited states: " + solver.getVisitedStates());
+            System.err.println("Footprint: " + solver.getFootprintBytes() / (1 << 20) + " MB");
+            return;
+        }
 
         int zeroState = findZeroState(board);
         List<Move> path = BFS(new Move(board, zeroState, generateValidMoves(board, zeroState), null));
-        for (Move m : path) {
-            System.out.println(m.getBoard());
+        try (BoardWriter out = openOutput(args)) {
+            for (Move m : path) {
+                out.accept(m.getBoard());
+            }
         }
     }
 
+    // --start=<board> and --goal=<board> replace the boards for n frogs, which is then not read at all.
+    // --scaling solves with 1, 2, 4, ... threads up to the parallelism and reports the time of each.
+    private static void solveInParallel(String[] args) throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        char[] start = null;
+        char[] goal = null;
+        for (String arg : args) {
+            if (arg.startsWith(PARALLEL_OPTION + "=")) {
+                parallelism = Integer.parseInt(arg.substring(PARALLEL_OPTION.length() + 1));
+            } else if (arg.startsWith(START_OPTION)) {
+                start = arg.substring(START_OPTION.length()).toCharArray();
+            } else if (arg.startsWith(GOAL_OPTION)) {
+                goal = arg.substring(GOAL_OPTION.length()).toCharArray();
+            }
+        }
+        if (start == null) {
+            start = createBoard((readInput() * 2) + 1);
+        }
+        if (goal == null) {
+            goal = createGoalBoard(start.length);
+        }
+
+        boolean scaling = Arrays.asList(args).contains(SCALING_OPTION);
+        List<char[]> path = null;
+        for (int threads = scaling ? 1 : parallelism; threads <= parallelism; threads = Math.min(threads * 2,
+                threads == parallelism ? parallelism + 1 : parallelism)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long startTime = System.nanoTime();
+            ParallelBfsSolver solver = new ParallelBfsSolver(start.length, pool);
+            path = solver.solve(start, goal);
+            long millis = (System.nanoTime() - startTime) / 1_000_000;
+            pool.shutdown();
+            System.err.println("Threads: " + threads + ", levels: " + solver.getLevels() + ", visited states: "
+                    + solver.getVisitedStates() + ", time: " + millis + " ms");
+        }
+        try (BoardWriter out = openOutput(args)) {
+            path.forEach(out);
+        }
+    }
+
+    // --output=<file> writes to a file instead of standard output, --compact writes one byte per move
+    private static BoardWriter openOutput(String[] args) throws IOException {
+        boolean compact = Arrays.asList(args).contains(COMPACT_OPTION);
+        for (String arg : args) {
+            if (arg.startsWith(OUTPUT_OPTION)) {
+                return BoardWriter.toFile(Path.of(arg.substring(OUTPUT_OPTION.length())), compact);
+            }
+        }
+        return BoardWriter.toStandardOutput(compact);
+    }
+
     public static int readInput() {
         Scanner scanner = new Scanner(System.in);
         return scanner.nextInt();
@@ -68,19 +163,23 @@ public class LeapFrogPuzzle {
         return path;
     }
 
+    public static char[] createGoalBoard(int size) {
+        char[] board = createBoard(size);
+        for (int i = 0; i < size; i++) {
+            board[i] = board[i] == 'L' ? 'R' : board[i] == 'R' ? 'L' : '_';
+        }
+        return board;
+    }
+
     public static boolean isGoalState(char[] board) {
         int size = board.length;
-        char[] newBoard = new char[size];
         for (int i = 0; i < size; i++) {
-            if (i == size / 2) {
-                newBoard[i] = '_';
-            } else if (i < size / 2) {
-                newBoard[i] = 'R';
-            } else {
-                newBoard[i] = 'L';
+            char expected = i == size / 2 ? '_' : i < size / 2 ? 'R' : 'L';
+            if (board[i] != expected) {
+                return false;
             }
         }
-        return Arrays.equals(board, newBoard);
+        return true;
     }
 
     public static boolean isValidMove(char[] board, int zeroState) {
@@ -0,0 +1,185 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Breadth-first search over packed boards. States are appended to one flat word array in the order
+// they are found, so the array doubles as the queue, and a state is known by its index there: the
+// visited set is an open addressing table of indices. Nothing else is kept per state. The empty spot is
+// found in the packed words, and instead of parent links only the first index of every level is kept:
+// a parent is any board one move back that the table holds within the previous level.
+public class PackedBfsSolver {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final int INITIAL_LEVELS = 64;
+    private static final int NONE = -1;
+
+    private final int cells;
+    private final int words;
+    private long[] states;
+    private int capacity;
+    private int count;
+    private int[] levelStarts = new int[INITIAL_LEVELS];
+    private int levels;
+    private int[] table;
+    private int tableMask;
+    private long[] goalWords;
+
+    public PackedBfsSolver(int cells) {
+        this.cells = cells;
+        this.words = PackedBoard.wordsFor(cells);
+        this.capacity = INITIAL_CAPACITY;
+        this.states = new long[capacity * words];
+        this.table = new int[INITIAL_CAPACITY * 2];
+        this.tableMask = table.length - 1;
+    }
+
+    public List<char[]> solve(char[] start, char[] goal) {
+        long[] goalWords = new long[words];
+        PackedBoard.encode(goal, goalWords, 0);
+        PackedBoard.encode(start, states, 0);
+        insert(0);
+        count = 1;
+        levels = 0;
+        addLevel(0);
+        int levelEnd = count;
+
+        this.goalWords = goalWords;
+        for (int head = 0; head < count; head++) {
+            if (head == levelEnd) {
+                addLevel(head);
+                levelEnd = count;
+            }
+            if (PackedBoard.equals(states, head * words, goalWords, 0, words)) {
+                return constructPath(head);
+            }
+            int zeroState = PackedBoard.findEmpty(states, head * words, cells);
+            tryMove(head, zeroState, zeroState - 1, PackedBoard.LEFT_FROG);
+            tryMove(head, zeroState, zeroState - 2, PackedBoard.LEFT_FROG);
+            tryMove(head, zeroState, zeroState + 1, PackedBoard.RIGHT_FROG);
+            tryMove(head, zeroState, zeroState + 2, PackedBoard.RIGHT_FROG);
+        }
+        throw new IllegalArgumentException("No path found!");
+    }
+
+    public int getVisitedStates() {
+        return count;
+    }
+
+    // the bytes held by the state array and the table when the search ended
+    public long getFootprintBytes() {
+        return (long) states.length * Long.BYTES + (long) table.length * Integer.BYTES;
+    }
+
+    // The child is built in the first free slot and only kept if the table has not seen it. Like the
+    // list based search, children without a move of their own are dropped unless they are the goal.
+    private void tryMove(int state, int zeroState, int from, int frog) {
+        if (from < 0 || from >= cells || PackedBoard.get(states, state * words, from) != frog) {
+            return;
+        }
+        ensureCapacity(count + 1);
+        int offset = count * words;
+        System.arraycopy(states, state * words, states, offset, words);
+        PackedBoard.set(states, offset, zeroState, frog);
+        PackedBoard.set(states, offset, from, PackedBoard.EMPTY);
+        if ((!hasMove(offset, from) && !PackedBoard.equals(states, offset, goalWords, 0, words)) || find(count) != NONE) {
+            return;
+        }
+        insert(count);
+        count++;
+    }
+
+    private boolean hasMove(int offset, int zeroState) {
+        return (zeroState - 1 >= 0 && PackedBoard.get(states, offset, zeroState - 1) == PackedBoard.LEFT_FROG)
+                || (zeroState - 2 >= 0 && PackedBoard.get(states, offset, zeroState - 2) == PackedBoard.LEFT_FROG)
+                || (zeroState + 1 < cells && PackedBoard.get(states, offset, zeroState + 1) == PackedBoard.RIGHT_FROG)
+                || (zeroState + 2 < cells && PackedBoard.get(states, offset, zeroState + 2) == PackedBoard.RIGHT_FROG);
+    }
+
+    // the index of the earlier state with the same board, or NONE
+    private int find(int state) {
+        int slot = PackedBoard.hash(states, state * words, words) & tableMask;
+        while (table[slot] != 0) {
+            if (PackedBoard.equals(states, (table[slot] - 1) * words, states, state * words, words)) {
+                return table[slot] - 1;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+        return NONE;
+    }
+
+    // slots hold index + 1 so that 0 marks an empty slot; the table is at most three quarters full
+    private void insert(int state) {
+        if ((count + 1) * 4L > table.length * 3L) {
+            table = new int[table.length * 2];
+            tableMask = table.length - 1;
+            for (int i = 0; i < count; i++) {
+                insertIndex(i);
+            }
+        }
+        insertIndex(state);
+    }
+
+    private void insertIndex(int state) {
+        int slot = PackedBoard.hash(states, state * words, words) & tableMask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & tableMask;
+        }
+        table[slot] = state + 1;
+    }
+
+    // grows by half, the state array is most of the memory and doubling could leave half of it unused
+    private void ensureCapacity(int newCount) {
+        if (newCount <= capacity) {
+            return;
+        }
+        capacity += capacity >> 1;
+        states = Arrays.copyOf(states, capacity * words);
+    }
+
+    private void addLevel(int start) {
+        if (levels == levelStarts.length) {
+            levelStarts = Arrays.copyOf(levelStarts, levels * 2);
+        }
+        levelStarts[levels++] = start;
+    }
+
+    // Walks back one level at a time. The board of the state is in the free slot after the last state,
+    // and every frog next to the empty spot that could have just arrived is moved back to find a parent.
+    private List<char[]> constructPath(int state) {
+        List<char[]> path = new ArrayList<>();
+        path.add(PackedBoard.decode(states, state * words, cells));
+        ensureCapacity(count + 1);
+        for (int level = levels - 1; level > 0; level--) {
+            int zeroState = PackedBoard.findEmpty(states, state * words, cells);
+            int parent = findParent(state, zeroState, zeroState + 1, PackedBoard.LEFT_FROG, level);
+            if (parent == NONE) {
+                parent = findParent(state, zeroState, zeroState + 2, PackedBoard.LEFT_FROG, level);
+            }
+            if (parent == NONE) {
+                parent = findParent(state, zeroState, zeroState - 1, PackedBoard.RIGHT_FROG, level);
+            }
+            if (parent == NONE) {
+                parent = findParent(state, zeroState, zeroState - 2, PackedBoard.RIGHT_FROG, level);
+            }
+            state = parent;
+            path.add(PackedBoard.decode(states, state * words, cells));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // the state of the previous level the frog at the given cell came from, or NONE
+    private int findParent(int state, int zeroState, int to, int frog, int level) {
+        if (to < 0 || to >= cells || PackedBoard.get(states, state * words, to) != frog) {
+            return NONE;
+        }
+        int offset = count * words;
+        System.arraycopy(states, state * words, states, offset, words);
+        PackedBoard.set(states, offset, zeroState, frog);
+        PackedBoard.set(states, offset, to, PackedBoard.EMPTY);
+        int parent = find(count);
+        return parent >= levelStarts[level - 1] && parent < levelStarts[level] ? parent : NONE;
+    }
+}
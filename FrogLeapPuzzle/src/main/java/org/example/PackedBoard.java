@@ -0,0 +1,79 @@
+package org.example;
+
+// Boards as 2 bits per cell, 32 cells to a long: 0 for the empty spot, 1 for an L frog, 2 for an R frog.
+// A board is a run of words inside a larger long array, so whole state sets live in one flat array.
+public final class PackedBoard {
+    public static final int EMPTY = 0;
+    public static final int LEFT_FROG = 1;
+    public static final int RIGHT_FROG = 2;
+    private static final int BITS_PER_CELL = 2;
+    private static final int CELLS_PER_WORD = Long.SIZE / BITS_PER_CELL;
+    private static final long CELL_MASK = 0x3L;
+    // the low bit of every cell
+    private static final long LOW_BITS = 0x5555555555555555L;
+    private static final char[] SYMBOLS = { '_', 'L', 'R' };
+
+    private PackedBoard() {
+    }
+
+    public static int wordsFor(int cells) {
+        return (cells + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+    }
+
+    public static int get(long[] words, int offset, int cell) {
+        return (int) ((words[offset + cell / CELLS_PER_WORD] >>> ((cell % CELLS_PER_WORD) * BITS_PER_CELL)) & CELL_MASK);
+    }
+
+    public static void set(long[] words, int offset, int cell, int value) {
+        int index = offset + cell / CELLS_PER_WORD;
+        int shift = (cell % CELLS_PER_WORD) * BITS_PER_CELL;
+        words[index] = (words[index] & ~(CELL_MASK << shift)) | ((long) value << shift);
+    }
+
+    public static void encode(char[] board, long[] words, int offset) {
+        for (int cell = 0; cell < board.length; cell++) {
+            set(words, offset, cell, board[cell] == 'L' ? LEFT_FROG : board[cell] == 'R' ? RIGHT_FROG : EMPTY);
+        }
+    }
+
+    public static char[] decode(long[] words, int offset, int cells) {
+        char[] board = new char[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            board[cell] = SYMBOLS[get(words, offset, cell)];
+        }
+        return board;
+    }
+
+    // the first cell with both bits clear, cells past the end of the board aside
+    public static int findEmpty(long[] words, int offset, int cells) {
+        for (int word = 0; word * CELLS_PER_WORD < cells; word++) {
+            long empty = ~(words[offset + word] | (words[offset + word] >>> 1)) & LOW_BITS;
+            int cellsInWord = Math.min(CELLS_PER_WORD, cells - word * CELLS_PER_WORD);
+            if (cellsInWord < CELLS_PER_WORD) {
+                empty &= (1L << (cellsInWord * BITS_PER_CELL)) - 1;
+            }
+            if (empty != 0) {
+                return word * CELLS_PER_WORD + Long.numberOfTrailingZeros(empty) / BITS_PER_CELL;
+            }
+        }
+        return -1;
+    }
+
+    public static boolean equals(long[] words, int offset, long[] otherWords, int otherOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (words[offset + i] != otherWords[otherOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int hash(long[] words, int offset, int length) {
+        long hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = (hash + words[offset + i]) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,247 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Level synchronous breadth-first search over packed boards for any start and goal with the same frogs.
+// Every level is expanded across the pool. A level has at most four children per state, so the state
+// arrays and the visited table are grown between levels and never while workers run: a worker reserves
+// a state index, writes the child there and publishes it with a CAS on the table slot, which also makes
+// the words visible to any worker that finds the slot while probing. A child that turns out to be known
+// keeps its reserved index for the worker's next child, so a level leaves at most one hole per task.
+// Like the other searches, children without a move of their own are dropped unless they are the goal.
+public class ParallelBfsSolver {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final int MAX_BRANCHING = 4;
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 10;
+    private static final int NONE = -1;
+    private static final int HOLE = -2;
+
+    private final ForkJoinPool pool;
+    private final int cells;
+    private final int words;
+    private long[] states;
+    private int[] parents;
+    private int[] zeroStates;
+    private final AtomicInteger count = new AtomicInteger();
+    private AtomicIntegerArray table;
+    private int tableMask;
+    private long[] goalWords;
+    private int levels;
+
+    public ParallelBfsSolver(int cells, ForkJoinPool pool) {
+        this.pool = pool;
+        this.cells = cells;
+        this.words = PackedBoard.wordsFor(cells);
+        this.states = new long[INITIAL_CAPACITY * words];
+        this.parents = new int[INITIAL_CAPACITY];
+        this.zeroStates = new int[INITIAL_CAPACITY];
+        this.table = new AtomicIntegerArray(INITIAL_CAPACITY * 2);
+        this.tableMask = table.length() - 1;
+    }
+
+    public List<char[]> solve(char[] start, char[] goal) {
+        checkBoards(start, goal);
+        goalWords = new long[words];
+        PackedBoard.encode(goal, goalWords, 0);
+        PackedBoard.encode(start, states, 0);
+        parents[0] = NONE;
+        zeroStates[0] = LeapFrogPuzzle.findZeroState(start);
+        insert(0);
+        count.set(1);
+
+        int levelStart = 0;
+        while (levelStart < count.get()) {
+            levels++;
+            int goalState = find(goalWords);
+            if (goalState != NONE) {
+                return constructPath(goalState);
+            }
+            int levelEnd = count.get();
+            ensureCapacity(levelEnd + (levelEnd - levelStart) * MAX_BRANCHING);
+            pool.invoke(new ExpandTask(levelStart, levelEnd));
+            levelStart = levelEnd;
+        }
+        throw new IllegalArgumentException("No path found!");
+    }
+
+    public int getVisitedStates() {
+        int visited = 0;
+        for (int state = 0; state < count.get(); state++) {
+            if (parents[state] != HOLE) {
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    // the number of levels expanded, the last one being the level of the goal
+    public int getLevels() {
+        return levels;
+    }
+
+    private void checkBoards(char[] start, char[] goal) {
+        if (start.length != cells || goal.length != cells) {
+            throw new IllegalArgumentException("Boards must have " + cells + " cells!");
+        }
+        int[] frogs = new int[3];
+        for (int i = 0; i < cells; i++) {
+            frogs[symbolIndex(start[i])]++;
+            frogs[symbolIndex(goal[i])]--;
+        }
+        if (frogs[PackedBoard.EMPTY] != 0 || frogs[PackedBoard.LEFT_FROG] != 0 || frogs[PackedBoard.RIGHT_FROG] != 0
+                || new String(start).indexOf('_') != new String(start).lastIndexOf('_')) {
+            throw new IllegalArgumentException("Start and goal need the same frogs and one empty spot!");
+        }
+    }
+
+    private static int symbolIndex(char symbol) {
+        switch (symbol) {
+            case '_':
+                return PackedBoard.EMPTY;
+            case 'L':
+                return PackedBoard.LEFT_FROG;
+            case 'R':
+                return PackedBoard.RIGHT_FROG;
+            default:
+                throw new IllegalArgumentException("Unknown cell " + symbol + "!");
+        }
+    }
+
+    // Expands the states of one level. A task too large to run alone splits in half; the leaves walk
+    // their range and keep a spare index for children that were already known.
+    private class ExpandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private int spare = NONE;
+
+        ExpandTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SEQUENTIAL_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ExpandTask(from, middle), new ExpandTask(middle, to));
+                return;
+            }
+            for (int state = from; state < to; state++) {
+                if (parents[state] == HOLE) {
+                    continue;
+                }
+                int zeroState = zeroStates[state];
+                tryMove(state, zeroState, zeroState - 1, PackedBoard.LEFT_FROG);
+                tryMove(state, zeroState, zeroState - 2, PackedBoard.LEFT_FROG);
+                tryMove(state, zeroState, zeroState + 1, PackedBoard.RIGHT_FROG);
+                tryMove(state, zeroState, zeroState + 2, PackedBoard.RIGHT_FROG);
+            }
+            if (spare != NONE) {
+                parents[spare] = HOLE;
+            }
+        }
+
+        private void tryMove(int state, int zeroState, int from, int frog) {
+            if (from < 0 || from >= cells || PackedBoard.get(states, state * words, from) != frog) {
+                return;
+            }
+            int child = spare != NONE ? spare : count.getAndIncrement();
+            int offset = child * words;
+            System.arraycopy(states, state * words, states, offset, words);
+            PackedBoard.set(states, offset, zeroState, frog);
+            PackedBoard.set(states, offset, from, PackedBoard.EMPTY);
+            if (!hasMove(offset, from) && !PackedBoard.equals(states, offset, goalWords, 0, words)) {
+                spare = child;
+                return;
+            }
+            parents[child] = state;
+            zeroStates[child] = from;
+            spare = insert(child) ? NONE : child;
+        }
+
+        private boolean hasMove(int offset, int zeroState) {
+            return (zeroState - 1 >= 0 && PackedBoard.get(states, offset, zeroState - 1) == PackedBoard.LEFT_FROG)
+                    || (zeroState - 2 >= 0 && PackedBoard.get(states, offset, zeroState - 2) == PackedBoard.LEFT_FROG)
+                    || (zeroState + 1 < cells && PackedBoard.get(states, offset, zeroState + 1) == PackedBoard.RIGHT_FROG)
+                    || (zeroState + 2 < cells && PackedBoard.get(states, offset, zeroState + 2) == PackedBoard.RIGHT_FROG);
+        }
+    }
+
+    // Slots hold index + 1 so that 0 marks an empty slot. Returns false if an equal state is already in
+    // the table, whoever put it there.
+    private boolean insert(int state) {
+        int slot = PackedBoard.hash(states, state * words, words) & tableMask;
+        while (true) {
+            int entry = table.get(slot);
+            if (entry == 0) {
+                if (table.compareAndSet(slot, 0, state + 1)) {
+                    return true;
+                }
+                entry = table.get(slot);
+            }
+            if (PackedBoard.equals(states, (entry - 1) * words, states, state * words, words)) {
+                return false;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+    }
+
+    private int find(long[] board) {
+        int slot = PackedBoard.hash(board, 0, words) & tableMask;
+        while (table.get(slot) != 0) {
+            int state = table.get(slot) - 1;
+            if (PackedBoard.equals(states, state * words, board, 0, words)) {
+                return state;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+        return NONE;
+    }
+
+    // only called between levels, so the arrays can be swapped without the workers noticing
+    private void ensureCapacity(int capacity) {
+        if (capacity > parents.length) {
+            int newCapacity = Math.max(capacity, parents.length * 2);
+            long[] newStates = new long[newCapacity * words];
+            System.arraycopy(states, 0, newStates, 0, states.length);
+            states = newStates;
+            int[] newParents = new int[newCapacity];
+            System.arraycopy(parents, 0, newParents, 0, parents.length);
+            parents = newParents;
+            int[] newZeroStates = new int[newCapacity];
+            System.arraycopy(zeroStates, 0, newZeroStates, 0, zeroStates.length);
+            zeroStates = newZeroStates;
+        }
+        if (capacity * 2 > table.length()) {
+            int tableLength = table.length();
+            while (capacity * 2 > tableLength) {
+                tableLength *= 2;
+            }
+            table = new AtomicIntegerArray(tableLength);
+            tableMask = tableLength - 1;
+            for (int state = 0; state < count.get(); state++) {
+                if (parents[state] != HOLE) {
+                    insert(state);
+                }
+            }
+        }
+    }
+
+    private List<char[]> constructPath(int state) {
+        List<char[]> path = new ArrayList<>();
+        while (state != NONE) {
+            path.add(PackedBoard.decode(states, state * words, cells));
+            state = parents[state];
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,103 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Anytime Weighted A*: the open list is ordered by g + weight * h, so a first solution comes quickly,
+// and the search goes on with every node that cannot beat the incumbent by its unweighted f pruned.
+// Once the open list runs dry the incumbent is optimal; at the deadline the smallest unweighted f
+// left open bounds the optimal length from below. The deadline is only honoured once there is a
+// solution to return.
+class AnytimeSearch {
+    private static final int DEADLINE_CHECK_MASK = 0x3FF;
+
+    private final DistanceTable distanceTable;
+    private final double weight;
+    private final long memoryBudgetBytes;
+
+    AnytimeSearch(DistanceTable distanceTable, double weight, long memoryBudgetBytes) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight must be at least 1!");
+        }
+        this.distanceTable = distanceTable;
+        this.weight = weight;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    // each improved solution closes a bound named after its length
+    AnytimeSolution solve(PackedState initialState, long deadlineNanos) {
+        initialState.calculateManhattanDistance(distanceTable);
+        TranspositionTable transpositionTable = new TranspositionTable(memoryBudgetBytes);
+        PriorityQueue<PackedState> priorityQueue = new PriorityQueue<>(Comparator
+                .comparingDouble((PackedState state) -> state.getMovesCount() + weight * state.getManhattanDistance())
+                .thenComparing(Comparator.comparingInt(PackedState::getMovesCount).reversed()));
+        List<PackedState> children = new ArrayList<>();
+        transpositionTable.offer(initialState.getBoard(), 0);
+        priorityQueue.add(initialState);
+
+        SearchStatistics statistics = new SearchStatistics();
+        PackedState incumbent = null;
+        int incumbentCost = Integer.MAX_VALUE;
+        int improvements = 0;
+        long generatedNodes = 0;
+        long expandedNodes = 0;
+        int peakOpenSize = 1;
+        statistics.startBound(0, 0);
+        while (!priorityQueue.isEmpty()) {
+            if (incumbent != null && (expandedNodes & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - deadlineNanos >= 0) {
+                break;
+            }
+            PackedState currentState = priorityQueue.poll();
+            int bestMovesCount = transpositionTable.get(currentState.getBoard());
+            if (currentState.getMovesCount() + currentState.getManhattanDistance() >= incumbentCost
+                    || (bestMovesCount != TranspositionTable.MISSING && bestMovesCount < currentState.getMovesCount())) {
+                continue;
+            }
+            if (currentState.isSolved()) {
+                incumbent = currentState;
+                incumbentCost = currentState.getMovesCount();
+                improvements++;
+                statistics.endBound(incumbentCost, generatedNodes, expandedNodes);
+                statistics.startBound(generatedNodes, expandedNodes);
+                continue;
+            }
+
+            expandedNodes++;
+            children.clear();
+            currentState.addChildren(distanceTable, children);
+            generatedNodes += children.size();
+            for (PackedState child : children) {
+                if (child.getMovesCount() + child.getManhattanDistance() < incumbentCost
+                        && transpositionTable.offer(child.getBoard(), child.getMovesCount())) {
+                    priorityQueue.add(child);
+                }
+            }
+            peakOpenSize = Math.max(peakOpenSize, priorityQueue.size());
+        }
+
+        int lowerBound = incumbentCost;
+        for (PackedState state : priorityQueue) {
+            lowerBound = Math.min(lowerBound, state.getMovesCount() + state.getManhattanDistance());
+        }
+        statistics.endBound(incumbentCost, generatedNodes, expandedNodes);
+        if (incumbent == null) {
+            statistics.finish(-1, peakOpenSize, 0);
+            return new AnytimeSolution(null, statistics, lowerBound, 0);
+        }
+        List<String> path = constructPath(incumbent);
+        statistics.finish(path.size(), peakOpenSize, 0);
+        return new AnytimeSolution(path, statistics, lowerBound, improvements);
+    }
+
+    private static List<String> constructPath(PackedState finalState) {
+        List<String> path = new ArrayList<>();
+        for (PackedState state = finalState; state.getParent() != null; state = state.getParent()) {
+            path.add(Solver.MOVE_NAMES[state.getPreviousMove()]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
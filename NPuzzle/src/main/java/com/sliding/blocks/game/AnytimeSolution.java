@@ -0,0 +1,32 @@
+package com.sliding.blocks.game;
+
+import java.util.List;
+
+public class AnytimeSolution extends Solution {
+    private final int lowerBound;
+    private final int improvements;
+
+    public AnytimeSolution(List<String> path, SearchStatistics statistics, int lowerBound, int improvements) {
+        super(path, statistics);
+        this.lowerBound = lowerBound;
+        this.improvements = improvements;
+    }
+
+    // no solution of the puzzle is shorter than this
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    // the returned path is at most this many times longer than an optimal one
+    public double getSuboptimalityBound() {
+        return lowerBound > 0 ? (double) getPathLength() / lowerBound : 1;
+    }
+
+    public boolean isOptimal() {
+        return getPathLength() == lowerBound;
+    }
+
+    public int getImprovements() {
+        return improvements;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sliding.blocks.game;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BatchSolver {
+    private static final String INPUT_OPTION = "--input=";
+    private static final String THREADS_OPTION = "--threads=";
+
+    private final String heuristicName;
+    private final int threads;
+    private final Map<String, Solver> solvers = new ConcurrentHashMap<>();
+
+    public BatchSolver(String heuristicName, int threads) {
+        this.heuristicName = heuristicName;
+        this.threads = threads;
+    }
+
+    // Puzzles are submitted while fewer than two per thread are in flight. The oldest one is always
+    // printed first, so results stream out in input order and memory stays bounded for any batch size.
+    public void run(Scanner scanner, PrintStream out) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Queue<Future<Solution>> pending = new ArrayDeque<>();
+            int maxPending = 2 * threads;
+            while (scanner.hasNextInt()) {
+                Puzzle puzzle = Puzzle.read(scanner);
+                pending.add(executor.submit(() -> getSolver(puzzle).solve(puzzle.getBoard())));
+                if (pending.size() >= maxPending) {
+                    print(pending.poll().get(), out);
+                }
+            }
+            while (!pending.isEmpty()) {
+                print(pending.poll().get(), out);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Solver getSolver(Puzzle puzzle) {
+        String key = puzzle.getBoardSize() + ":" + puzzle.getEmptyTilePosition();
+        return solvers.computeIfAbsent(key, ignored -> {
+            int[][] goalStates = puzzle.generateGoalStates();
+            try {
+                return new Solver(goalStates, Heuristic.forName(heuristicName, goalStates));
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot load heuristic " + heuristicName, e);
+            }
+        });
+    }
+
+    private static void print(Solution solution, PrintStream out) {
+        NPuzzle.printSolution(solution, out);
+        out.flush();
+    }
+
+    // usage: BatchSolver [--input=puzzles file] [--threads=N] [heuristic], puzzles are read from stdin without a file
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        String fileName = null;
+        String heuristicName = ManhattanHeuristic.NAME;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            if (arg.startsWith(THREADS_OPTION)) {
+                threads = Integer.parseInt(arg.substring(THREADS_OPTION.length()));
+            } else if (arg.startsWith(INPUT_OPTION)) {
+                fileName = arg.substring(INPUT_OPTION.length());
+            } else {
+                heuristicName = arg;
+            }
+        }
+
+        long startTime = System.currentTimeMillis();
+        BatchSolver solver = new BatchSolver(heuristicName, threads);
+        if (fileName == null) {
+            // stdin is not ours to close
+            solver.run(new Scanner(System.in), System.out);
+        } else {
+            try (InputStream in = new FileInputStream(fileName)) {
+                solver.run(new Scanner(in), System.out);
+            }
+        }
+        System.err.println("Batch time: " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+    }
+}
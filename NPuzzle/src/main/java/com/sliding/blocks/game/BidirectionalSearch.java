@@ -0,0 +1,190 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// MM search (Holte et al.): both directions order their open lists by max(f, 2g), so neither side
+// expands a node beyond the middle of an optimal path, and the first meeting whose cost is at most
+// the smaller open priority is optimal. The backward side runs Manhattan distance to the initial board.
+class BidirectionalSearch {
+    private static final int FORWARD = 0;
+    private static final int BACKWARD = 1;
+    private static final long EMPTY = 0;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final Comparator<PackedState> PRIORITY_ORDER = Comparator
+            .comparingInt(BidirectionalSearch::getPriority)
+            .thenComparingInt(PackedState::getMovesCount);
+
+    private final DistanceTable[] distanceTables = new DistanceTable[2];
+    private final List<PriorityQueue<PackedState>> openLists = new ArrayList<>(2);
+    // the shared frontier: one open addressing slot per board reached from either side
+    private long[] boards = new long[INITIAL_CAPACITY];
+    private PackedState[][] states = new PackedState[2][INITIAL_CAPACITY];
+    private byte[] closed = new byte[INITIAL_CAPACITY];
+    private int size;
+    private int bestCost = Integer.MAX_VALUE;
+    private final PackedState[] meeting = new PackedState[2];
+    private long generatedNodes;
+    private long expandedNodes;
+    private long peakOpenSize;
+    private final int initialEstimate;
+
+    BidirectionalSearch(int[][] initialBoard, int[][] goalStates) {
+        int boardSize = initialBoard.length;
+        int[][] goalBoard = new int[boardSize][boardSize];
+        for (int tile = 1; tile < goalStates.length; tile++) {
+            goalBoard[goalStates[tile][0]][goalStates[tile][1]] = tile;
+        }
+        int[][] initialStates = new int[boardSize * boardSize][2];
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                initialStates[initialBoard[i][j]][0] = i;
+                initialStates[initialBoard[i][j]][1] = j;
+            }
+        }
+
+        distanceTables[FORWARD] = new DistanceTable(goalStates);
+        distanceTables[BACKWARD] = new DistanceTable(initialStates);
+        PackedState[] roots = new PackedState[2];
+        roots[FORWARD] = new PackedState(initialBoard);
+        roots[BACKWARD] = new PackedState(goalBoard);
+        for (int direction = FORWARD; direction <= BACKWARD; direction++) {
+            roots[direction].calculateManhattanDistance(distanceTables[direction]);
+            openLists.add(new PriorityQueue<>(PRIORITY_ORDER));
+            add(direction, roots[direction]);
+        }
+        initialEstimate = roots[FORWARD].getManhattanDistance();
+    }
+
+    // every new lower bound on the optimal length is reported as a bound
+    List<String> solve(SearchStatistics statistics) {
+        statistics.startBound(0, 0);
+        int lowerBound = initialEstimate;
+        List<PackedState> children = new ArrayList<>();
+        while (true) {
+            PackedState forwardTop = peek(FORWARD);
+            PackedState backwardTop = peek(BACKWARD);
+            if (forwardTop == null || backwardTop == null) {
+                break;
+            }
+            int forwardPriority = getPriority(forwardTop);
+            int backwardPriority = getPriority(backwardTop);
+            int priority = Math.min(forwardPriority, backwardPriority);
+            if (priority > lowerBound) {
+                statistics.endBound(lowerBound, generatedNodes, expandedNodes);
+                statistics.startBound(generatedNodes, expandedNodes);
+                lowerBound = priority;
+            }
+            if (bestCost <= lowerBound) {
+                break;
+            }
+
+            int direction = forwardPriority <= backwardPriority ? FORWARD : BACKWARD;
+            PackedState currentState = openLists.get(direction).poll();
+            closed[find(currentState.getBoard())] |= 1 << direction;
+            expandedNodes++;
+            children.clear();
+            currentState.addChildren(distanceTables[direction], children);
+            generatedNodes += children.size();
+            for (PackedState child : children) {
+                add(direction, child);
+            }
+            peakOpenSize = Math.max(peakOpenSize, openLists.get(FORWARD).size() + openLists.get(BACKWARD).size());
+        }
+        statistics.endBound(lowerBound, generatedNodes, expandedNodes);
+        if (meeting[FORWARD] == null) {
+            throw new IllegalStateException("No solution exists!");
+        }
+        List<String> path = constructPath();
+        statistics.finish(path.size(), peakOpenSize, 0);
+        return path;
+    }
+
+    private void add(int direction, PackedState state) {
+        int slot = find(state.getBoard());
+        if (boards[slot] == EMPTY) {
+            boards[slot] = state.getBoard();
+            if (++size > boards.length >>> 1) {
+                resize();
+                slot = find(state.getBoard());
+            }
+        }
+        PackedState known = states[direction][slot];
+        if (known != null && known.getMovesCount() <= state.getMovesCount()) {
+            return;
+        }
+        states[direction][slot] = state;
+        closed[slot] &= ~(1 << direction);
+        openLists.get(direction).add(state);
+
+        PackedState opposite = states[1 - direction][slot];
+        if (opposite != null && state.getMovesCount() + opposite.getMovesCount() < bestCost) {
+            bestCost = state.getMovesCount() + opposite.getMovesCount();
+            meeting[direction] = state;
+            meeting[1 - direction] = opposite;
+        }
+    }
+
+    // the slot holding the board, else the empty slot where it belongs
+    private int find(long board) {
+        int mask = boards.length - 1;
+        int slot = (int) ((board * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - Integer.numberOfTrailingZeros(boards.length)));
+        while (boards[slot] != board && boards[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldBoards = boards;
+        PackedState[][] oldStates = states;
+        byte[] oldClosed = closed;
+        boards = new long[oldBoards.length * 2];
+        states = new PackedState[2][boards.length];
+        closed = new byte[boards.length];
+        for (int oldSlot = 0; oldSlot < oldBoards.length; oldSlot++) {
+            if (oldBoards[oldSlot] != EMPTY) {
+                int slot = find(oldBoards[oldSlot]);
+                boards[slot] = oldBoards[oldSlot];
+                states[FORWARD][slot] = oldStates[FORWARD][oldSlot];
+                states[BACKWARD][slot] = oldStates[BACKWARD][oldSlot];
+                closed[slot] = oldClosed[oldSlot];
+            }
+        }
+    }
+
+    // drops queue entries that were closed or superseded by a shorter path since they were queued
+    private PackedState peek(int direction) {
+        PriorityQueue<PackedState> openList = openLists.get(direction);
+        while (!openList.isEmpty()) {
+            PackedState top = openList.peek();
+            int slot = find(top.getBoard());
+            if (states[direction][slot] == top && (closed[slot] & (1 << direction)) == 0) {
+                return top;
+            }
+            openList.poll();
+        }
+        return null;
+    }
+
+    // the forward half is replayed from the initial board, the backward half is walked back to the
+    // goal with every empty tile move reversed
+    private List<String> constructPath() {
+        List<String> path = new ArrayList<>();
+        for (PackedState state = meeting[FORWARD]; state.getParent() != null; state = state.getParent()) {
+            path.add(Solver.MOVE_NAMES[state.getPreviousMove()]);
+        }
+        Collections.reverse(path);
+        for (PackedState state = meeting[BACKWARD]; state.getParent() != null; state = state.getParent()) {
+            path.add(Solver.MOVE_NAMES[state.getPreviousMove() ^ 1]);
+        }
+        return path;
+    }
+
+    private static int getPriority(PackedState state) {
+        return Math.max(state.getMovesCount() + state.getManhattanDistance(), 2 * state.getMovesCount());
+    }
+}
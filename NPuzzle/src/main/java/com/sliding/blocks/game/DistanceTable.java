@@ -0,0 +1,33 @@
+package com.sliding.blocks.game;
+
+public class DistanceTable {
+    private final int boardSize;
+    private final int cells;
+    private final int[] distances;
+
+    public DistanceTable(int[][] goalStates) {
+        this.cells = goalStates.length;
+        this.boardSize = (int) Math.sqrt(cells);
+        this.distances = new int[cells * cells];
+        for (int tile = 1; tile < cells; tile++) {
+            for (int position = 0; position < cells; position++) {
+                int rowDiff = Math.abs(position / boardSize - goalStates[tile][0]);
+                int colDiff = Math.abs(position % boardSize - goalStates[tile][1]);
+                distances[tile * cells + position] = rowDiff + colDiff;
+            }
+        }
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getDistance(int tile, int position) {
+        return distances[tile * cells + position];
+    }
+
+    public int getDelta(int tile, int fromPosition, int toPosition) {
+        int offset = tile * cells;
+        return distances[offset + toPosition] - distances[offset + fromPosition];
+    }
+}
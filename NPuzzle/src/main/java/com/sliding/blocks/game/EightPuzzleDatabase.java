@@ -0,0 +1,120 @@
+package com.sliding.blocks.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Optimal distance and best empty tile move of every 3x3 board, one table per goal position of the
+// empty tile. A table holds a byte per permutation rank: the move in the low two bits, the distance
+// above it, and UNREACHABLE for the half of the boards of the wrong parity.
+public class EightPuzzleDatabase {
+    static final int MAGIC = 0x4E503844;
+    static final int VERSION = 1;
+    static final int BOARD_SIZE = 3;
+    static final int CELLS = BOARD_SIZE * BOARD_SIZE;
+    static final int TABLE_SIZE = 362_880;
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+    static final byte UNREACHABLE = -1;
+    static final int MOVE_MASK = 0x3;
+    static final int DISTANCE_SHIFT = 2;
+    private static final int BITS_PER_TILE = 4;
+    private static final long TILE_MASK = 0xFL;
+    private static final int[] FACTORIALS = { 40320, 5040, 720, 120, 24, 6, 2, 1, 1 };
+
+    private final ByteBuffer tables;
+
+    EightPuzzleDatabase(ByteBuffer tables) {
+        this.tables = tables;
+    }
+
+    // header: magic, version, board size, table count, then the tables in empty tile position order
+    public static EightPuzzleDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != BOARD_SIZE || header.getInt() != CELLS) {
+                throw new IOException("Not an 8-puzzle database: " + file);
+            }
+            return new EightPuzzleDatabase(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) CELLS * TABLE_SIZE));
+        }
+    }
+
+    public boolean supports(int[][] goalStates) {
+        return goalStates.length == CELLS;
+    }
+
+    // -1 for boards that cannot reach the goal
+    public int getDistance(int[][] board, int[][] goalStates) {
+        int entry = getEntry(getGoalEmptyTilePosition(goalStates), pack(board));
+        return entry == UNREACHABLE ? -1 : entry >>> DISTANCE_SHIFT;
+    }
+
+    // follows the best moves down to distance 0, one lookup per move
+    public List<String> getPath(int[][] board, int[][] goalStates) {
+        int goalEmptyTilePosition = getGoalEmptyTilePosition(goalStates);
+        long packedBoard = pack(board);
+        int emptyTilePosition = findEmptyTile(packedBoard);
+        int entry = getEntry(goalEmptyTilePosition, packedBoard);
+        if (entry == UNREACHABLE) {
+            return null;
+        }
+        List<String> path = new ArrayList<>(entry >>> DISTANCE_SHIFT);
+        while (entry >>> DISTANCE_SHIFT != 0) {
+            int move = entry & MOVE_MASK;
+            path.add(Solver.MOVE_NAMES[move]);
+            int newEmptyTilePosition = emptyTilePosition + IDAStarSearch.ROW_MOVES[move] * BOARD_SIZE + IDAStarSearch.COL_MOVES[move];
+            packedBoard = slideTile(packedBoard, emptyTilePosition, newEmptyTilePosition);
+            emptyTilePosition = newEmptyTilePosition;
+            entry = getEntry(goalEmptyTilePosition, packedBoard);
+        }
+        return path;
+    }
+
+    private int getEntry(int goalEmptyTilePosition, long packedBoard) {
+        return tables.get(goalEmptyTilePosition * TABLE_SIZE + rank(packedBoard));
+    }
+
+    private static int getGoalEmptyTilePosition(int[][] goalStates) {
+        return goalStates[0][0] * BOARD_SIZE + goalStates[0][1];
+    }
+
+    // Lehmer code: each tile counts the smaller tiles that are not placed yet
+    static int rank(long packedBoard) {
+        int rank = 0;
+        int used = 0;
+        for (int position = 0; position < CELLS; position++) {
+            int tile = (int) ((packedBoard >>> (position * BITS_PER_TILE)) & TILE_MASK);
+            rank += (tile - Integer.bitCount(used & ((1 << tile) - 1))) * FACTORIALS[position];
+            used |= 1 << tile;
+        }
+        return rank;
+    }
+
+    static long pack(int[][] board) {
+        long packedBoard = 0;
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                packedBoard |= (long) board[i][j] << ((i * BOARD_SIZE + j) * BITS_PER_TILE);
+            }
+        }
+        return packedBoard;
+    }
+
+    static int findEmptyTile(long packedBoard) {
+        int position = 0;
+        while (((packedBoard >>> (position * BITS_PER_TILE)) & TILE_MASK) != 0) {
+            position++;
+        }
+        return position;
+    }
+
+    static long slideTile(long packedBoard, int emptyTilePosition, int tilePosition) {
+        int tileShift = tilePosition * BITS_PER_TILE;
+        long tile = (packedBoard >>> tileShift) & TILE_MASK;
+        return (packedBoard & ~(TILE_MASK << tileShift)) | (tile << (emptyTilePosition * BITS_PER_TILE));
+    }
+}
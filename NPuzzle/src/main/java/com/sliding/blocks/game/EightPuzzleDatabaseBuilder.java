@@ -0,0 +1,86 @@
+package com.sliding.blocks.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class EightPuzzleDatabaseBuilder {
+    private static final int REACHABLE_BOARDS = EightPuzzleDatabase.TABLE_SIZE / 2;
+
+    public void write(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(EightPuzzleDatabase.HEADER_SIZE);
+        header.putInt(EightPuzzleDatabase.MAGIC);
+        header.putInt(EightPuzzleDatabase.VERSION);
+        header.putInt(EightPuzzleDatabase.BOARD_SIZE);
+        header.putInt(EightPuzzleDatabase.CELLS);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (int emptyTilePosition = 0; emptyTilePosition < EightPuzzleDatabase.CELLS; emptyTilePosition++) {
+                writeFully(channel, ByteBuffer.wrap(build(emptyTilePosition)));
+            }
+        }
+    }
+
+    // Breadth-first search backwards from the goal. A board first reached from a board at depth d is
+    // at depth d + 1, and its best move is the reverse of the move that reached it.
+    byte[] build(int goalEmptyTilePosition) {
+        int[][] goalStates = Solver.generateGoalStates(EightPuzzleDatabase.BOARD_SIZE, goalEmptyTilePosition);
+        int[][] goalBoard = new int[EightPuzzleDatabase.BOARD_SIZE][EightPuzzleDatabase.BOARD_SIZE];
+        for (int tile = 1; tile < goalStates.length; tile++) {
+            goalBoard[goalStates[tile][0]][goalStates[tile][1]] = tile;
+        }
+
+        byte[] table = new byte[EightPuzzleDatabase.TABLE_SIZE];
+        Arrays.fill(table, EightPuzzleDatabase.UNREACHABLE);
+        long[] queue = new long[REACHABLE_BOARDS];
+        int head = 0;
+        int tail = 0;
+        long goal = EightPuzzleDatabase.pack(goalBoard);
+        table[EightPuzzleDatabase.rank(goal)] = 0;
+        queue[tail++] = goal;
+        while (head < tail) {
+            long board = queue[head++];
+            int distance = table[EightPuzzleDatabase.rank(board)] >>> EightPuzzleDatabase.DISTANCE_SHIFT;
+            int emptyTilePosition = EightPuzzleDatabase.findEmptyTile(board);
+            int emptyTileRow = emptyTilePosition / EightPuzzleDatabase.BOARD_SIZE;
+            int emptyTileCol = emptyTilePosition % EightPuzzleDatabase.BOARD_SIZE;
+            for (int move = 0; move < IDAStarSearch.ROW_MOVES.length; move++) {
+                int newEmptyTileRow = emptyTileRow + IDAStarSearch.ROW_MOVES[move];
+                int newEmptyTileCol = emptyTileCol + IDAStarSearch.COL_MOVES[move];
+                if (newEmptyTileRow < 0 || newEmptyTileRow >= EightPuzzleDatabase.BOARD_SIZE
+                        || newEmptyTileCol < 0 || newEmptyTileCol >= EightPuzzleDatabase.BOARD_SIZE) {
+                    continue;
+                }
+                int newEmptyTilePosition = newEmptyTileRow * EightPuzzleDatabase.BOARD_SIZE + newEmptyTileCol;
+                long newBoard = EightPuzzleDatabase.slideTile(board, emptyTilePosition, newEmptyTilePosition);
+                int rank = EightPuzzleDatabase.rank(newBoard);
+                if (table[rank] == EightPuzzleDatabase.UNREACHABLE) {
+                    table[rank] = (byte) (((distance + 1) << EightPuzzleDatabase.DISTANCE_SHIFT) | (move ^ 1));
+                    queue[tail++] = newBoard;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // usage: EightPuzzleDatabaseBuilder <output file>
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args[0]);
+        long startTime = System.currentTimeMillis();
+        new EightPuzzleDatabaseBuilder().write(file);
+        System.out.println("Written " + file + " in " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+    }
+}
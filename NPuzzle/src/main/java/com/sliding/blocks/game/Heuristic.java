@@ -0,0 +1,36 @@
+package com.sliding.blocks.game;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public interface Heuristic {
+    String PATTERN_DATABASE_PREFIX = "pattern-database:";
+
+    String getName();
+
+    // board[position] holds the tile at that cell and tilePositions[tile] the cell of that tile
+    int estimate(int[] board, int[] tilePositions);
+
+    // called once the tile has been moved from fromPosition to toPosition in both arrays
+    int update(int[] board, int[] tilePositions, int estimate, int tile, int fromPosition, int toPosition);
+
+    static Heuristic forName(String name, int[][] goalStates) throws IOException {
+        if (name.startsWith(PATTERN_DATABASE_PREFIX)) {
+            PatternDatabase patternDatabase = PatternDatabase.load(Paths.get(name.substring(PATTERN_DATABASE_PREFIX.length())));
+            if (!patternDatabase.supports(goalStates)) {
+                throw new IllegalArgumentException("Pattern database was built for a different goal layout!");
+            }
+            return patternDatabase;
+        }
+        switch (name) {
+            case ManhattanHeuristic.NAME:
+                return new ManhattanHeuristic(new DistanceTable(goalStates));
+            case LinearConflictHeuristic.NAME:
+                return new LinearConflictHeuristic(goalStates);
+            case WalkingDistanceHeuristic.NAME:
+                return new WalkingDistanceHeuristic(goalStates);
+            default:
+                throw new IllegalArgumentException("Unknown heuristic: " + name);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.sliding.blocks.game;
+
+import java.util.Arrays;
+
+// Estimates the time spent in heuristic calls by timing one call in 256, since timing every call would cost
+// more than most heuristics. A GC or JIT pause caught in a sample would otherwise stand for 256 calls, so
+// every window of samples is capped at a few times its median, and the mean of the capped samples is scaled
+// by the calls made. One timer serves one thread, across as many searches as that thread runs.
+final class HeuristicTimer {
+    private static final int SAMPLE_MASK = 0xFF;
+    private static final int WINDOW = 64;
+    private static final int OUTLIER_FACTOR = 4;
+    private static final long TIMER_OVERHEAD = measureTimerOverhead();
+
+    private final long[] window = new long[WINDOW];
+    private int windowSize;
+    private long calls;
+    private long samples;
+    private long sampledNanos;
+
+    // the median back to back nanoTime pair, taken off every sample since it exceeds most incremental updates
+    private static long measureTimerOverhead() {
+        long[] samples = new long[1001];
+        for (int i = 0; i < samples.length; i++) {
+            long startTime = System.nanoTime();
+            samples[i] = System.nanoTime() - startTime;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    // counts a call and returns whether it is to be timed
+    boolean sample() {
+        return (calls++ & SAMPLE_MASK) == 0;
+    }
+
+    void addSample(long startTime) {
+        window[windowSize++] = Math.max(0, System.nanoTime() - startTime - TIMER_OVERHEAD);
+        if (windowSize == WINDOW) {
+            sampledNanos += sumCappedWindow();
+            samples += windowSize;
+            windowSize = 0;
+        }
+    }
+
+    private long sumCappedWindow() {
+        long[] sorted = Arrays.copyOf(window, windowSize);
+        Arrays.sort(sorted);
+        long cap = Math.max(1, sorted[sorted.length / 2]) * OUTLIER_FACTOR;
+        long total = 0;
+        for (long sample : sorted) {
+            total += Math.min(sample, cap);
+        }
+        return total;
+    }
+
+    long getNanos() {
+        long allSamples = samples + windowSize;
+        if (allSamples == 0) {
+            return 0;
+        }
+        return (long) ((double) (sampledNanos + (windowSize > 0 ? sumCappedWindow() : 0)) / allSamples * calls);
+    }
+}
@@ -0,0 +1,176 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+class IDAStarSearch {
+    static final int FOUND = -1;
+    static final int[] ROW_MOVES = { -1, 1, 0, 0 };
+    static final int[] COL_MOVES = { 0, 0, -1, 1 };
+    private static final int CANCELLATION_CHECK_MASK = 0xFFF;
+
+    private final int boardSize;
+    private final int[] board;
+    private final int[] tilePositions;
+    private final Heuristic heuristic;
+    private final HeuristicTimer heuristicTimer;
+    private int emptyTilePosition;
+    private int[] moves = new int[64];
+    private BooleanSupplier cancelled;
+
+    private long expandedNodes;
+    private long generatedNodes;
+    private int maxDepth;
+
+    IDAStarSearch(int[][] initialBoard, Heuristic heuristic) {
+        this(flatten(initialBoard), initialBoard.length, heuristic);
+    }
+
+    IDAStarSearch(int[] initialBoard, int boardSize, Heuristic heuristic) {
+        this(initialBoard, boardSize, heuristic, new HeuristicTimer());
+    }
+
+    IDAStarSearch(int[] initialBoard, int boardSize, Heuristic heuristic, HeuristicTimer heuristicTimer) {
+        this.boardSize = boardSize;
+        this.board = Arrays.copyOf(initialBoard, initialBoard.length);
+        this.tilePositions = new int[board.length];
+        this.heuristic = heuristic;
+        this.heuristicTimer = heuristicTimer;
+        for (int position = 0; position < board.length; position++) {
+            tilePositions[board[position]] = position;
+        }
+        this.emptyTilePosition = tilePositions[0];
+    }
+
+    static int[] flatten(int[][] board) {
+        int[] flatBoard = new int[board.length * board.length];
+        for (int i = 0; i < board.length; i++) {
+            System.arraycopy(board[i], 0, flatBoard, i * board.length, board.length);
+        }
+        return flatBoard;
+    }
+
+    int estimate() {
+        return heuristic.estimate(board, tilePositions);
+    }
+
+    List<String> solve(SearchStatistics statistics) {
+        int initialEstimate = heuristic.estimate(board, tilePositions);
+        int bound = initialEstimate;
+        while (true) {
+            statistics.startBound(generatedNodes, expandedNodes);
+            int result = search(0, bound, initialEstimate, -1);
+            statistics.endBound(bound, generatedNodes, expandedNodes);
+            if (result == FOUND) {
+                List<String> path = constructPath();
+                statistics.finish(path.size(), maxDepth, heuristicTimer.getNanos());
+                return path;
+            }
+            if (result == Integer.MAX_VALUE) {
+                throw new IllegalStateException("No solution exists!");
+            }
+            bound = result;
+        }
+    }
+
+    // searches below a node that was reached by prefixMoves; the result is FOUND or the next bound
+    int searchSubtree(int[] prefixMoves, int bound, BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+        ensureCapacity(prefixMoves.length);
+        System.arraycopy(prefixMoves, 0, moves, 0, prefixMoves.length);
+        int previousMove = prefixMoves.length > 0 ? prefixMoves[prefixMoves.length - 1] : -1;
+        return search(prefixMoves.length, bound, estimate(), previousMove);
+    }
+
+    private int search(int movesCount, int bound, int estimate, int previousMove) {
+        int cost = movesCount + estimate;
+        if (cost > bound) {
+            return cost;
+        }
+        if (estimate == 0) {
+            moves[movesCount] = -1;
+            return FOUND;
+        }
+
+        expandedNodes++;
+        maxDepth = Math.max(maxDepth, movesCount);
+        if (cancelled != null && (expandedNodes & CANCELLATION_CHECK_MASK) == 0 && cancelled.getAsBoolean()) {
+            return Integer.MAX_VALUE;
+        }
+        ensureCapacity(movesCount + 1);
+        int nextBound = Integer.MAX_VALUE;
+        int emptyTileRow = emptyTilePosition / boardSize;
+        int emptyTileCol = emptyTilePosition % boardSize;
+        for (int move = 0; move < ROW_MOVES.length; move++) {
+            // moves come in opposite pairs, so flipping the last bit undoes the previous one
+            if (previousMove != -1 && move == (previousMove ^ 1)) {
+                continue;
+            }
+            int newEmptyTileRow = emptyTileRow + ROW_MOVES[move];
+            int newEmptyTileCol = emptyTileCol + COL_MOVES[move];
+            if (newEmptyTileRow < 0 || newEmptyTileRow >= boardSize
+                    || newEmptyTileCol < 0 || newEmptyTileCol >= boardSize) {
+                continue;
+            }
+
+            int oldEmptyTilePosition = emptyTilePosition;
+            int newEmptyTilePosition = newEmptyTileRow * boardSize + newEmptyTileCol;
+            int tile = board[newEmptyTilePosition];
+            board[oldEmptyTilePosition] = tile;
+            board[newEmptyTilePosition] = 0;
+            tilePositions[tile] = oldEmptyTilePosition;
+            tilePositions[0] = newEmptyTilePosition;
+            emptyTilePosition = newEmptyTilePosition;
+            moves[movesCount] = move;
+            generatedNodes++;
+            boolean sampled = heuristicTimer.sample();
+            long startTime = sampled ? System.nanoTime() : 0;
+            int childEstimate = heuristic.update(board, tilePositions, estimate, tile, newEmptyTilePosition, oldEmptyTilePosition);
+            if (sampled) {
+                heuristicTimer.addSample(startTime);
+            }
+
+            int result = search(movesCount + 1, bound, childEstimate, move);
+
+            board[newEmptyTilePosition] = tile;
+            board[oldEmptyTilePosition] = 0;
+            tilePositions[tile] = newEmptyTilePosition;
+            tilePositions[0] = oldEmptyTilePosition;
+            emptyTilePosition = oldEmptyTilePosition;
+
+            if (result == FOUND) {
+                return FOUND;
+            }
+            nextBound = Math.min(nextBound, result);
+        }
+        return nextBound;
+    }
+
+    long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    long getGeneratedNodes() {
+        return generatedNodes;
+    }
+
+    int getMaxDepth() {
+        return maxDepth;
+    }
+
+    private void ensureCapacity(int depth) {
+        if (depth >= moves.length) {
+            moves = Arrays.copyOf(moves, Math.max(moves.length * 2, depth + 1));
+        }
+    }
+
+    List<String> constructPath() {
+        List<String> path = new ArrayList<>();
+        for (int i = 0; moves[i] != -1; i++) {
+            path.add(Solver.MOVE_NAMES[moves[i]]);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,132 @@
+package com.sliding.blocks.game;
+
+public class LinearConflictHeuristic implements Heuristic {
+    public static final String NAME = "linear-conflict";
+    private static final int MAX_BOARD_SIZE = 7;
+
+    private final int boardSize;
+    private final DistanceTable distanceTable;
+    private final int[] goalRows;
+    private final int[] goalCols;
+    private final int[] weights;
+    private final byte[] lineConflicts;
+
+    public LinearConflictHeuristic(int[][] goalStates) {
+        this.distanceTable = new DistanceTable(goalStates);
+        this.boardSize = distanceTable.getBoardSize();
+        if (boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Linear conflict tables support at most " + MAX_BOARD_SIZE + "x" + MAX_BOARD_SIZE + " boards!");
+        }
+        this.goalRows = new int[goalStates.length];
+        this.goalCols = new int[goalStates.length];
+        for (int tile = 0; tile < goalStates.length; tile++) {
+            goalRows[tile] = goalStates[tile][0];
+            goalCols[tile] = goalStates[tile][1];
+        }
+        this.weights = new int[boardSize];
+        int weight = 1;
+        for (int i = 0; i < boardSize; i++) {
+            weights[i] = weight;
+            weight *= boardSize + 1;
+        }
+        this.lineConflicts = buildLineConflicts(weight);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int estimate(int[] board, int[] tilePositions) {
+        int manhattanDistance = 0;
+        for (int position = 0; position < board.length; position++) {
+            manhattanDistance += distanceTable.getDistance(board[position], position);
+        }
+        int conflicts = 0;
+        for (int line = 0; line < boardSize; line++) {
+            conflicts += lineConflicts[rowIndex(board, line)] + lineConflicts[colIndex(board, line)];
+        }
+        return manhattanDistance + 2 * conflicts;
+    }
+
+    // A horizontal move keeps the order of the tiles in its row, so only the two columns it touches can
+    // change their conflicts, and the same holds for rows on a vertical move. Their previous indices are
+    // the current ones with the moved tile put back into its old cell.
+    @Override
+    public int update(int[] board, int[] tilePositions, int estimate, int tile, int fromPosition, int toPosition) {
+        int fromRow = fromPosition / boardSize;
+        int fromCol = fromPosition % boardSize;
+        int toRow = toPosition / boardSize;
+        int toCol = toPosition % boardSize;
+        int conflictsDelta;
+        if (fromRow == toRow) {
+            int fromIndex = colIndex(board, fromCol);
+            int toIndex = colIndex(board, toCol);
+            conflictsDelta = lineConflicts[fromIndex] - lineConflicts[fromIndex + colValue(tile, fromCol) * weights[fromRow]]
+                    + lineConflicts[toIndex] - lineConflicts[toIndex - colValue(tile, toCol) * weights[toRow]];
+        } else {
+            int fromIndex = rowIndex(board, fromRow);
+            int toIndex = rowIndex(board, toRow);
+            conflictsDelta = lineConflicts[fromIndex] - lineConflicts[fromIndex + rowValue(tile, fromRow) * weights[fromCol]]
+                    + lineConflicts[toIndex] - lineConflicts[toIndex - rowValue(tile, toRow) * weights[toCol]];
+        }
+        return estimate + distanceTable.getDelta(tile, fromPosition, toPosition) + 2 * conflictsDelta;
+    }
+
+    // a tile only takes part in the conflicts of a row if that is its goal row, ordered by its goal column
+    private int rowValue(int tile, int row) {
+        return tile != 0 && goalRows[tile] == row ? goalCols[tile] + 1 : 0;
+    }
+
+    private int colValue(int tile, int col) {
+        return tile != 0 && goalCols[tile] == col ? goalRows[tile] + 1 : 0;
+    }
+
+    private int rowIndex(int[] board, int row) {
+        int index = 0;
+        for (int col = 0; col < boardSize; col++) {
+            index += rowValue(board[row * boardSize + col], row) * weights[col];
+        }
+        return index;
+    }
+
+    private int colIndex(int[] board, int col) {
+        int index = 0;
+        for (int row = 0; row < boardSize; row++) {
+            index += colValue(board[row * boardSize + col], col) * weights[row];
+        }
+        return index;
+    }
+
+    // every line is a sequence of goal coordinates; the tiles outside its longest increasing
+    // subsequence are the fewest that have to leave the line to let the others pass
+    private byte[] buildLineConflicts(int size) {
+        byte[] conflicts = new byte[size];
+        int[] values = new int[boardSize];
+        int[] longest = new int[boardSize];
+        for (int index = 0; index < size; index++) {
+            int count = 0;
+            int remainder = index;
+            for (int i = 0; i < boardSize; i++) {
+                int value = remainder % (boardSize + 1);
+                remainder /= boardSize + 1;
+                if (value != 0) {
+                    values[count++] = value;
+                }
+            }
+            int longestIncreasing = 0;
+            for (int i = 0; i < count; i++) {
+                longest[i] = 1;
+                for (int j = 0; j < i; j++) {
+                    if (values[j] < values[i]) {
+                        longest[i] = Math.max(longest[i], longest[j] + 1);
+                    }
+                }
+                longestIncreasing = Math.max(longestIncreasing, longest[i]);
+            }
+            conflicts[index] = (byte) (count - longestIncreasing);
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sliding.blocks.game;
+
+public class ManhattanHeuristic implements Heuristic {
+    public static final String NAME = "manhattan";
+
+    private final DistanceTable distanceTable;
+
+    public ManhattanHeuristic(DistanceTable distanceTable) {
+        this.distanceTable = distanceTable;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int estimate(int[] board, int[] tilePositions) {
+        int manhattanDistance = 0;
+        for (int position = 0; position < board.length; position++) {
+            manhattanDistance += distanceTable.getDistance(board[position], position);
+        }
+        return manhattanDistance;
+    }
+
+    @Override
+    public int update(int[] board, int[] tilePositions, int estimate, int tile, int fromPosition, int toPosition) {
+        return estimate + distanceTable.getDelta(tile, fromPosition, toPosition);
+    }
+}
@@ -0,0 +1,233 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// SMA* over a fixed pool of nodes. A node is a slot in parallel arrays holding the packed board, the
+// parent slot and a 2-bit move code, so nothing but the budgeted nodes stays reachable. When the pool
+// is full the worst leaf (highest f, shallowest) is dropped and its f is kept in the parent, which is
+// queued again and regenerates the dropped children once everything cheaper has been searched.
+class MemoryBoundedSearch {
+    private static final int INFINITY = Integer.MAX_VALUE;
+    private static final int NONE = -1;
+    private static final int BITS_PER_TILE = 4;
+    private static final long TILE_MASK = 0xFL;
+    private static final int MOVE_MASK = 0x3;
+    private static final int CHILD_MASK_SHIFT = 2;
+    private static final int MOVES_PER_WORD = Long.SIZE / 2;
+
+    private final int boardSize;
+    private final DistanceTable distanceTable;
+    private final int nodeBudget;
+
+    private final long[] boards;
+    private final int[] parents;
+    private final int[] children;
+    private final int[] costs;
+    private final int[] forgottenCosts;
+    private final short[] depths;
+    private final byte[] estimates;
+    private final byte[] emptyTilePositions;
+    // move code from the parent in the low bits, then one bit per move whose child is in the pool
+    private final byte[] moveCodes;
+    private final int[] freeSlots;
+    private int freeCount;
+
+    // the open list has the lowest f and deepest node on top, the leaves the highest f and shallowest one
+    private final NodeHeap open;
+    private final NodeHeap leaves;
+
+    private long generatedNodes;
+    private long expandedNodes;
+    private int peakNodes;
+
+    MemoryBoundedSearch(int boardSize, DistanceTable distanceTable, int nodeBudget) {
+        if (nodeBudget < 2) {
+            throw new IllegalArgumentException("Node budget must be at least 2!");
+        }
+        this.boardSize = boardSize;
+        this.distanceTable = distanceTable;
+        this.nodeBudget = nodeBudget;
+        this.boards = new long[nodeBudget];
+        this.parents = new int[nodeBudget];
+        this.children = new int[nodeBudget * IDAStarSearch.ROW_MOVES.length];
+        this.costs = new int[nodeBudget];
+        this.forgottenCosts = new int[nodeBudget];
+        this.depths = new short[nodeBudget];
+        this.estimates = new byte[nodeBudget];
+        this.emptyTilePositions = new byte[nodeBudget];
+        this.moveCodes = new byte[nodeBudget];
+        this.freeSlots = new int[nodeBudget];
+        for (int slot = 0; slot < nodeBudget; slot++) {
+            freeSlots[freeCount++] = nodeBudget - 1 - slot;
+        }
+        this.open = new NodeHeap(nodeBudget, costs, depths, false);
+        this.leaves = new NodeHeap(nodeBudget, costs, depths, true);
+    }
+
+    List<String> solve(PackedState initialState, SearchStatistics statistics) {
+        initialState.calculateManhattanDistance(distanceTable);
+        int root = allocate(initialState.getBoard(), NONE, 0, initialState.getManhattanDistance(),
+                initialState.getEmptyTilePosition(), 0);
+        costs[root] = initialState.getManhattanDistance();
+        open.add(root);
+        leaves.add(root);
+
+        int bound = costs[root];
+        statistics.startBound(0, 0);
+        while (!open.isEmpty()) {
+            int node = open.peek();
+            if (costs[node] == INFINITY) {
+                break;
+            }
+            if (costs[node] > bound) {
+                statistics.endBound(bound, generatedNodes, expandedNodes);
+                statistics.startBound(generatedNodes, expandedNodes);
+                bound = costs[node];
+            }
+            if (estimates[node] == 0) {
+                statistics.endBound(bound, generatedNodes, expandedNodes);
+                List<String> path = constructPath(node);
+                statistics.finish(path.size(), peakNodes, 0);
+                return path;
+            }
+            expand(node);
+        }
+        throw new IllegalStateException("No solution within a budget of " + nodeBudget + " nodes!");
+    }
+
+    // generates every successor of the node that is not in the pool, after making room for them
+    private void expand(int node) {
+        expandedNodes++;
+        int emptyTilePosition = emptyTilePositions[node];
+        int emptyTileRow = emptyTilePosition / boardSize;
+        int emptyTileCol = emptyTilePosition % boardSize;
+        int reverseMove = parents[node] == NONE ? NONE : (moveCodes[node] & MOVE_MASK) ^ 1;
+
+        open.remove(node);
+        leaves.remove(node);
+        // counted again after every prune, which may have taken one of the children still in the pool
+        while (freeCount < countMissingChildren(node, emptyTileRow, emptyTileCol, reverseMove)) {
+            pruneWorstLeaf(node);
+        }
+        for (int move = 0; move < IDAStarSearch.ROW_MOVES.length; move++) {
+            int newEmptyTileRow = emptyTileRow + IDAStarSearch.ROW_MOVES[move];
+            int newEmptyTileCol = emptyTileCol + IDAStarSearch.COL_MOVES[move];
+            if (move == reverseMove || !isInside(newEmptyTileRow, newEmptyTileCol) || hasChild(node, move)) {
+                continue;
+            }
+            int newEmptyTilePosition = newEmptyTileRow * boardSize + newEmptyTileCol;
+            long board = boards[node];
+            int tileShift = newEmptyTilePosition * BITS_PER_TILE;
+            int tile = (int) ((board >>> tileShift) & TILE_MASK);
+            long newBoard = (board & ~(TILE_MASK << tileShift)) | ((long) tile << (emptyTilePosition * BITS_PER_TILE));
+            int estimate = estimates[node] + distanceTable.getDelta(tile, newEmptyTilePosition, emptyTilePosition);
+            int depth = depths[node] + 1;
+
+            int child = allocate(newBoard, node, depth, estimate, newEmptyTilePosition, move);
+            // a child that could never reach the goal inside the pool is not worth keeping
+            if (estimate != 0 && depth >= nodeBudget - 1) {
+                costs[child] = INFINITY;
+            } else {
+                costs[child] = Math.max(costs[node], depth + estimate);
+            }
+            children[node * IDAStarSearch.ROW_MOVES.length + move] = child;
+            moveCodes[node] |= 1 << (CHILD_MASK_SHIFT + move);
+            generatedNodes++;
+            open.add(child);
+            leaves.add(child);
+        }
+        forgottenCosts[node] = INFINITY;
+        peakNodes = Math.max(peakNodes, nodeBudget - freeCount);
+        backUp(node);
+    }
+
+    private int countMissingChildren(int node, int emptyTileRow, int emptyTileCol, int reverseMove) {
+        int missing = 0;
+        for (int move = 0; move < IDAStarSearch.ROW_MOVES.length; move++) {
+            if (move != reverseMove && !hasChild(node, move)
+                    && isInside(emptyTileRow + IDAStarSearch.ROW_MOVES[move], emptyTileCol + IDAStarSearch.COL_MOVES[move])) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+
+    // The parent remembers the cheapest f it has lost and goes back to the open list to regenerate it,
+    // unless it is the node being expanded, which is out of both heaps and regenerates it right away.
+    // The root is a leaf only while it is alone in the pool, and then it is the node being expanded.
+    private void pruneWorstLeaf(int expandedNode) {
+        if (leaves.isEmpty()) {
+            throw new IllegalStateException("No solution within a budget of " + nodeBudget + " nodes!");
+        }
+        int leaf = leaves.peek();
+        int parent = parents[leaf];
+        open.remove(leaf);
+        leaves.remove(leaf);
+        moveCodes[parent] &= ~(1 << (CHILD_MASK_SHIFT + (moveCodes[leaf] & MOVE_MASK)));
+        forgottenCosts[parent] = Math.min(forgottenCosts[parent], costs[leaf]);
+        freeSlots[freeCount++] = leaf;
+
+        if (parent == expandedNode) {
+            return;
+        }
+        if ((moveCodes[parent] >>> CHILD_MASK_SHIFT) == 0) {
+            leaves.add(parent);
+        }
+        open.add(parent);
+    }
+
+    // f of a node becomes the cheapest f among its children in the pool and the ones it has forgotten
+    private void backUp(int node) {
+        while (node != NONE) {
+            int cost = forgottenCosts[node];
+            for (int move = 0; move < IDAStarSearch.ROW_MOVES.length; move++) {
+                if (hasChild(node, move)) {
+                    cost = Math.min(cost, costs[children[node * IDAStarSearch.ROW_MOVES.length + move]]);
+                }
+            }
+            if (cost == costs[node]) {
+                return;
+            }
+            costs[node] = cost;
+            open.update(node);
+            leaves.update(node);
+            node = parents[node];
+        }
+    }
+
+    private int allocate(long board, int parent, int depth, int estimate, int emptyTilePosition, int move) {
+        int slot = freeSlots[--freeCount];
+        boards[slot] = board;
+        parents[slot] = parent;
+        depths[slot] = (short) depth;
+        estimates[slot] = (byte) estimate;
+        emptyTilePositions[slot] = (byte) emptyTilePosition;
+        moveCodes[slot] = (byte) move;
+        forgottenCosts[slot] = INFINITY;
+        return slot;
+    }
+
+    private boolean hasChild(int node, int move) {
+        return (moveCodes[node] & (1 << (CHILD_MASK_SHIFT + move))) != 0;
+    }
+
+    private boolean isInside(int row, int col) {
+        return row >= 0 && row < boardSize && col >= 0 && col < boardSize;
+    }
+
+    // the 2-bit move codes are pushed on a packed stack while walking up the parents, then read back in order
+    private List<String> constructPath(int goal) {
+        int length = depths[goal];
+        long[] moveStack = new long[(length + MOVES_PER_WORD - 1) / MOVES_PER_WORD];
+        for (int node = goal, index = length - 1; parents[node] != NONE; node = parents[node], index--) {
+            moveStack[index / MOVES_PER_WORD] |= (long) (moveCodes[node] & MOVE_MASK) << (2 * (index % MOVES_PER_WORD));
+        }
+        List<String> path = new ArrayList<>(length);
+        for (int index = 0; index < length; index++) {
+            int move = (int) (moveStack[index / MOVES_PER_WORD] >>> (2 * (index % MOVES_PER_WORD))) & MOVE_MASK;
+            path.add(Solver.MOVE_NAMES[move]);
+        }
+        return path;
+    }
+}
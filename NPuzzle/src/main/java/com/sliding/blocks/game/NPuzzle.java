@@ -1,42 +1,136 @@
 package com.sliding.blocks.game;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 public class NPuzzle {
-    public static void main(String[] args) {
+    private static final String PARALLEL_OPTION = "--parallel";
+    private static final String BEST_FIRST_OPTION = "--best-first";
+    private static final String BIDIRECTIONAL_OPTION = "--bidirectional";
+    private static final String MEMORY_BOUNDED_OPTION = "--memory-bounded";
+    private static final int DEFAULT_NODE_BUDGET = 1_000_000;
+    private static final String DATABASE_OPTION = "--database=";
+    private static final String ANYTIME_OPTION = "--anytime=";
+    private static final String WEIGHT_OPTION = "--weight=";
+    private static final double DEFAULT_WEIGHT = 3;
+    private static final long DEFAULT_ANYTIME_TABLE_MEGABYTES = 32;
+    private static final long DEFAULT_TABLE_MEGABYTES = 256;
+
+    public static void main(String[] args) throws IOException {
         Scanner scanner = new Scanner(System.in);
-        int numberOfTiles = scanner.nextInt();
-        int emptyTilePosition = scanner.nextInt();
-        int boardSize = (int) Math.sqrt(numberOfTiles + 1);
-        int[][] initialBoard = new int[boardSize][boardSize];
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                initialBoard[i][j] = scanner.nextInt();
+        Puzzle puzzle = Puzzle.read(scanner);
+        int[][] goalStates = puzzle.generateGoalStates();
+
+        String heuristicName = ManhattanHeuristic.NAME;
+        int parallelism = 0;
+        long tableMegabytes = 0;
+        boolean bidirectional = false;
+        int nodeBudget = 0;
+        Path databaseFile = null;
+        long anytimeMillis = 0;
+        double weight = DEFAULT_WEIGHT;
+        boolean weightGiven = false;
+        int modes = 0;
+        for (String arg : args) {
+            if (arg.startsWith(ANYTIME_OPTION)) {
+                modes++;
+                anytimeMillis = Long.parseLong(arg.substring(ANYTIME_OPTION.length()));
+            } else if (arg.startsWith(WEIGHT_OPTION)) {
+                weight = Double.parseDouble(arg.substring(WEIGHT_OPTION.length()));
+                weightGiven = true;
+            } else if (arg.startsWith(DATABASE_OPTION)) {
+                modes++;
+                databaseFile = Paths.get(arg.substring(DATABASE_OPTION.length()));
+            } else if (arg.equals(MEMORY_BOUNDED_OPTION)) {
+                modes++;
+                nodeBudget = DEFAULT_NODE_BUDGET;
+            } else if (arg.startsWith(MEMORY_BOUNDED_OPTION + "=")) {
+                modes++;
+                nodeBudget = Integer.parseInt(arg.substring(MEMORY_BOUNDED_OPTION.length() + 1));
+            } else if (arg.equals(BIDIRECTIONAL_OPTION)) {
+                modes++;
+                bidirectional = true;
+            } else if (arg.equals(BEST_FIRST_OPTION)) {
+                modes++;
+                tableMegabytes = DEFAULT_TABLE_MEGABYTES;
+            } else if (arg.startsWith(BEST_FIRST_OPTION + "=")) {
+                modes++;
+                tableMegabytes = Long.parseLong(arg.substring(BEST_FIRST_OPTION.length() + 1));
+            } else if (arg.equals(PARALLEL_OPTION)) {
+                modes++;
+                parallelism = Runtime.getRuntime().availableProcessors();
+            } else if (arg.startsWith(PARALLEL_OPTION + "=")) {
+                modes++;
+                parallelism = Integer.parseInt(arg.substring(PARALLEL_OPTION.length() + 1));
+            } else {
+                heuristicName = arg;
             }
         }
-
-        int[][] goalStates = Solver.generateGoalStates(boardSize, emptyTilePosition);
-
-        State initialState = new State(initialBoard, 0, null, null);
-        initialState.calculateManhattanDistance(goalStates);
-
-        if (!initialState.isSolvable()) {
-            System.out.println(-1);
-            return;
+        if (modes > 1) {
+            throw new IllegalArgumentException("Only one of " + DATABASE_OPTION + ", " + ANYTIME_OPTION + ", "
+                    + MEMORY_BOUNDED_OPTION + ", " + BIDIRECTIONAL_OPTION + ", " + BEST_FIRST_OPTION + " and "
+                    + PARALLEL_OPTION + " can be given");
+        }
+        if (weightGiven && anytimeMillis == 0) {
+            throw new IllegalArgumentException(WEIGHT_OPTION + " only applies to " + ANYTIME_OPTION);
         }
+        // these searches compute the Manhattan distance incrementally on packed boards
+        boolean manhattanOnly = anytimeMillis > 0 || nodeBudget > 0 || bidirectional || tableMegabytes > 0;
+        if (manhattanOnly && !heuristicName.equals(ManhattanHeuristic.NAME)) {
+            throw new IllegalArgumentException("Heuristic " + heuristicName + " is not supported by this search, only "
+                    + ManhattanHeuristic.NAME);
+        }
+        Solver solver = new Solver(goalStates, Heuristic.forName(heuristicName, goalStates));
 
         long startTime = System.currentTimeMillis();
-        Solver.runIDAStar(initialState, goalStates, 0, 1);
+        Solution solution;
+        String heuristicUsed = solver.getHeuristic().getName();
+        // the database only covers 3x3 boards, larger ones fall through to the default search
+        if (databaseFile != null && puzzle.getBoardSize() == EightPuzzleDatabase.BOARD_SIZE) {
+            solution = solver.solveFromDatabase(puzzle.getBoard(), EightPuzzleDatabase.load(databaseFile));
+            heuristicUsed = "none (database)";
+        } else if (anytimeMillis > 0) {
+            solution = solver.solveAnytime(puzzle.getBoard(), weight, anytimeMillis * 1_000_000,
+                    DEFAULT_ANYTIME_TABLE_MEGABYTES << 20);
+        } else if (nodeBudget > 0) {
+            solution = solver.solveMemoryBounded(puzzle.getBoard(), nodeBudget);
+        } else if (bidirectional) {
+            solution = solver.solveBidirectional(puzzle.getBoard());
+        } else if (tableMegabytes > 0) {
+            solution = solver.solveBestFirst(puzzle.getBoard(), tableMegabytes << 20);
+        } else if (parallelism > 0) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                solution = solver.solveInParallel(puzzle.getBoard(), pool);
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            solution = solver.solve(puzzle.getBoard());
+        }
         long endTime = System.currentTimeMillis();
         double solvingTime = (endTime - startTime) / 1000.0;
 
-        System.out.println(Solver.getPathLength());
-        List<String> path = Solver.getPath();
-        for (String move : path) {
-            System.out.println(move);
+        printSolution(solution, System.out);
+        System.err.println("Heuristic: " + heuristicUsed + ", expanded nodes: " + solution.getExpandedNodes()
+                + ", time: " + solvingTime + " seconds");
+        System.err.println(solution.getStatistics());
+        if (solution instanceof AnytimeSolution && solution.isSolvable()) {
+            AnytimeSolution anytimeSolution = (AnytimeSolution) solution;
+            System.err.printf("Anytime: %d improvements, lower bound %d, suboptimality bound %.3f%n",
+                    anytimeSolution.getImprovements(), anytimeSolution.getLowerBound(), anytimeSolution.getSuboptimalityBound());
+        }
+    }
+
+    static void printSolution(Solution solution, PrintStream out) {
+        out.println(solution.getPathLength());
+        for (String move : solution.getPath()) {
+            out.println(move);
         }
-        //System.out.println(solvingTime);
     }
 
 }
@@ -0,0 +1,115 @@
+package com.sliding.blocks.game;
+
+import java.util.Arrays;
+
+// A binary heap of node slots that keeps the heap index of every slot, so a slot can be removed, or moved
+// after its f changed, without a search. Two ints per slot instead of a boxed entry in a tree. Ordered by
+// f with the deeper node first on ties, or the other way round when the worst node is wanted on top.
+final class NodeHeap {
+    private static final int ABSENT = -1;
+
+    private final int[] costs;
+    private final short[] depths;
+    private final boolean worstFirst;
+    private final int[] heap;
+    private final int[] indices;
+    private int size;
+
+    NodeHeap(int capacity, int[] costs, short[] depths, boolean worstFirst) {
+        this.costs = costs;
+        this.depths = depths;
+        this.worstFirst = worstFirst;
+        this.heap = new int[capacity];
+        this.indices = new int[capacity];
+        Arrays.fill(indices, ABSENT);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    // does nothing if the slot is in the heap already
+    void add(int slot) {
+        if (indices[slot] != ABSENT) {
+            return;
+        }
+        heap[size] = slot;
+        indices[slot] = size;
+        siftUp(size++);
+    }
+
+    boolean remove(int slot) {
+        int index = indices[slot];
+        if (index == ABSENT) {
+            return false;
+        }
+        indices[slot] = ABSENT;
+        if (index != --size) {
+            int last = heap[size];
+            heap[index] = last;
+            indices[last] = index;
+            siftDown(index);
+            siftUp(indices[last]);
+        }
+        return true;
+    }
+
+    // puts a slot whose f has changed back in order, if it is in the heap
+    void update(int slot) {
+        int index = indices[slot];
+        if (index != ABSENT) {
+            siftUp(index);
+            siftDown(indices[slot]);
+        }
+    }
+
+    private void siftUp(int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parent = heap[parentIndex];
+            if (!before(slot, parent)) {
+                break;
+            }
+            heap[index] = parent;
+            indices[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = slot;
+        indices[slot] = index;
+    }
+
+    private void siftDown(int index) {
+        int slot = heap[index];
+        while (true) {
+            int childIndex = 2 * index + 1;
+            if (childIndex >= size) {
+                break;
+            }
+            if (childIndex + 1 < size && before(heap[childIndex + 1], heap[childIndex])) {
+                childIndex++;
+            }
+            int child = heap[childIndex];
+            if (!before(child, slot)) {
+                break;
+            }
+            heap[index] = child;
+            indices[child] = index;
+            index = childIndex;
+        }
+        heap[index] = slot;
+        indices[slot] = index;
+    }
+
+    private boolean before(int first, int second) {
+        int result = Integer.compare(costs[first], costs[second]);
+        if (result == 0) {
+            result = Integer.compare(depths[second], depths[first]);
+        }
+        return worstFirst ? result > 0 : result < 0;
+    }
+}
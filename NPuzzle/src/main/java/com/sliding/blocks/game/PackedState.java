@@ -0,0 +1,190 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PackedState implements Comparable<PackedState> {
+    public static final int MAX_BOARD_SIZE = 4;
+    private static final int BITS_PER_TILE = 4;
+    private static final long TILE_MASK = 0xFL;
+    private static final int[][] MOVES = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+    private final long board;
+    private final byte boardSize;
+    private final byte emptyTilePosition;
+    private final byte previousMove;
+    private final int movesCount;
+    private final PackedState parent;
+    private int manhattanDistance;
+
+    public PackedState(int[][] board) {
+        if (board.length > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Packed boards support at most " + MAX_BOARD_SIZE + "x" + MAX_BOARD_SIZE + " tiles!");
+        }
+        long packedBoard = 0;
+        int emptyTile = -1;
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board.length; j++) {
+                int position = i * board.length + j;
+                packedBoard |= (long) board[i][j] << (position * BITS_PER_TILE);
+                if (board[i][j] == 0) {
+                    emptyTile = position;
+                }
+            }
+        }
+        this.board = packedBoard;
+        this.boardSize = (byte) board.length;
+        this.emptyTilePosition = (byte) emptyTile;
+        this.previousMove = -1;
+        this.movesCount = 0;
+        this.parent = null;
+    }
+
+    private PackedState(long board, int boardSize, int emptyTilePosition, int previousMove, int movesCount, PackedState parent) {
+        this.board = board;
+        this.boardSize = (byte) boardSize;
+        this.emptyTilePosition = (byte) emptyTilePosition;
+        this.previousMove = (byte) previousMove;
+        this.movesCount = movesCount;
+        this.parent = parent;
+    }
+
+    public long getBoard() {
+        return board;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getEmptyTilePosition() {
+        return emptyTilePosition;
+    }
+
+    public int getTile(int position) {
+        return (int) ((board >>> (position * BITS_PER_TILE)) & TILE_MASK);
+    }
+
+    public int getMovesCount() {
+        return movesCount;
+    }
+
+    public PackedState getParent() {
+        return parent;
+    }
+
+    public int getPreviousMove() {
+        return previousMove;
+    }
+
+    public int getManhattanDistance() {
+        return manhattanDistance;
+    }
+
+    @Override
+    public int compareTo(PackedState other) {
+        return Integer.compare(manhattanDistance + movesCount, other.manhattanDistance + other.movesCount);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PackedState && board == ((PackedState) other).board;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(board);
+    }
+
+    public void calculateManhattanDistance(int[][] goalStates) {
+        manhattanDistance = 0;
+        for (int position = 0; position < boardSize * boardSize; position++) {
+            int currentTile = getTile(position);
+            if (currentTile != 0) {
+                int rowDiff = Math.abs(position / boardSize - goalStates[currentTile][0]);
+                int colDiff = Math.abs(position % boardSize - goalStates[currentTile][1]);
+                manhattanDistance += rowDiff + colDiff;
+            }
+        }
+    }
+
+    public void calculateManhattanDistance(DistanceTable distanceTable) {
+        manhattanDistance = 0;
+        for (int position = 0; position < boardSize * boardSize; position++) {
+            manhattanDistance += distanceTable.getDistance(getTile(position), position);
+        }
+    }
+
+    public boolean isSolved() {
+        return manhattanDistance == 0;
+    }
+
+    public boolean isSolvable() {
+        return isSolvable(boardSize - 1);
+    }
+
+    public boolean isSolvable(int[][] goalStates) {
+        return isSolvable(goalStates[0][0]);
+    }
+
+    private boolean isSolvable(int goalEmptyTileRow) {
+        int inversions = getInversions();
+        int emptyTileRow = emptyTilePosition / boardSize;
+        return (boardSize % 2 == 1 && inversions % 2 == 0)
+                || (boardSize % 2 == 0 && (inversions + emptyTileRow) % 2 == goalEmptyTileRow % 2);
+    }
+
+    public List<PackedState> getChildren(DistanceTable distanceTable) {
+        List<PackedState> children = new ArrayList<>(MOVES.length);
+        addChildren(distanceTable, children);
+        return children;
+    }
+
+    public void addChildren(DistanceTable distanceTable, List<PackedState> children) {
+        int emptyTileRow = emptyTilePosition / boardSize;
+        int emptyTileCol = emptyTilePosition % boardSize;
+        for (int move = 0; move < MOVES.length; move++) {
+            int newEmptyTileRow = emptyTileRow + MOVES[move][0];
+            int newEmptyTileCol = emptyTileCol + MOVES[move][1];
+
+            if (newEmptyTileRow >= 0 && newEmptyTileRow < boardSize
+                    && newEmptyTileCol >= 0 && newEmptyTileCol < boardSize) {
+                int newEmptyTilePosition = newEmptyTileRow * boardSize + newEmptyTileCol;
+                long newBoard = slideTile(newEmptyTilePosition);
+
+                if (parent != null && newBoard == parent.board) {
+                    continue;
+                }
+
+                PackedState newChild = new PackedState(newBoard, boardSize, newEmptyTilePosition, move, movesCount + 1, this);
+                newChild.manhattanDistance = manhattanDistance
+                        + distanceTable.getDelta(getTile(newEmptyTilePosition), newEmptyTilePosition, emptyTilePosition);
+                children.add(newChild);
+            }
+        }
+    }
+
+    // the empty cell holds 0, so moving a tile into it is a clear of its old nibble and an or into the new one
+    private long slideTile(int tilePosition) {
+        int tileShift = tilePosition * BITS_PER_TILE;
+        long tile = (board >>> tileShift) & TILE_MASK;
+        return (board & ~(TILE_MASK << tileShift)) | (tile << (emptyTilePosition * BITS_PER_TILE));
+    }
+
+    private int getInversions() {
+        int inversions = 0;
+        int cells = boardSize * boardSize;
+        for (int i = 0; i < cells; i++) {
+            int first = getTile(i);
+            if (first == 0) {
+                continue;
+            }
+            for (int j = i + 1; j < cells; j++) {
+                int second = getTile(j);
+                if (second != 0 && first > second) {
+                    inversions++;
+                }
+            }
+        }
+        return inversions;
+    }
+}
@@ -0,0 +1,213 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+class ParallelIDAStarSearch {
+    static final int DEFAULT_FRONTIER_SIZE = 4096;
+
+    private final int boardSize;
+    private final Heuristic heuristic;
+    private final ForkJoinPool pool;
+    private final int frontierSize;
+    private final LongAdder expandedNodes = new LongAdder();
+    private final LongAdder generatedNodes = new LongAdder();
+    // one timer per worker thread, so its sampling runs on across the small subtree searches
+    private final Queue<HeuristicTimer> heuristicTimers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<HeuristicTimer> heuristicTimer = ThreadLocal.withInitial(() -> {
+        HeuristicTimer timer = new HeuristicTimer();
+        heuristicTimers.add(timer);
+        return timer;
+    });
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    ParallelIDAStarSearch(int boardSize, Heuristic heuristic, ForkJoinPool pool, int frontierSize) {
+        this.boardSize = boardSize;
+        this.heuristic = heuristic;
+        this.pool = pool;
+        this.frontierSize = frontierSize;
+    }
+
+    // the breadth-first frontier is counted into the first bound
+    List<String> solve(int[][] initialBoard, SearchStatistics statistics) {
+        List<FrontierNode> frontier = new ArrayList<>();
+        frontier.add(new FrontierNode(IDAStarSearch.flatten(initialBoard), new int[0]));
+        statistics.startBound(0, 0);
+
+        // breadth-first layers find any goal above the frontier at its optimal depth
+        while (true) {
+            for (FrontierNode node : frontier) {
+                if (node.estimate == 0) {
+                    statistics.endBound(node.moves.length, generatedNodes.sum(), expandedNodes.sum());
+                    return finish(toPath(node.moves), statistics);
+                }
+            }
+            if (frontier.size() >= frontierSize) {
+                break;
+            }
+            List<FrontierNode> nextLayer = new ArrayList<>(frontier.size() * 3);
+            for (FrontierNode node : frontier) {
+                expandedNodes.increment();
+                maxDepth.accumulate(node.moves.length);
+                node.addChildren(nextLayer);
+            }
+            generatedNodes.add(nextLayer.size());
+            if (nextLayer.isEmpty()) {
+                throw new IllegalStateException("No solution exists!");
+            }
+            frontier = nextLayer;
+        }
+
+        int bound = Integer.MAX_VALUE;
+        for (FrontierNode node : frontier) {
+            bound = Math.min(bound, node.moves.length + node.estimate);
+        }
+        FrontierNode[] nodes = frontier.toArray(new FrontierNode[0]);
+        boolean firstBound = true;
+        while (true) {
+            if (!firstBound) {
+                statistics.startBound(generatedNodes.sum(), expandedNodes.sum());
+            }
+            firstBound = false;
+            BoundIteration iteration = new BoundIteration(nodes, bound);
+            pool.invoke(iteration.new SubtreeTask(0, nodes.length));
+            statistics.endBound(bound, generatedNodes.sum(), expandedNodes.sum());
+            int solutionIndex = iteration.solutionIndex.get();
+            if (solutionIndex != Integer.MAX_VALUE) {
+                return finish(iteration.paths[solutionIndex], statistics);
+            }
+            bound = Arrays.stream(iteration.nextBounds).min().orElse(Integer.MAX_VALUE);
+            if (bound == Integer.MAX_VALUE) {
+                throw new IllegalStateException("No solution exists!");
+            }
+        }
+    }
+
+    private List<String> finish(List<String> path, SearchStatistics statistics) {
+        long heuristicNanos = 0;
+        for (HeuristicTimer timer : heuristicTimers) {
+            heuristicNanos += timer.getNanos();
+        }
+        statistics.finish(path.size(), maxDepth.get(), heuristicNanos, pool.getParallelism());
+        return path;
+    }
+
+    private static List<String> toPath(int[] moves) {
+        List<String> path = new ArrayList<>(moves.length);
+        for (int move : moves) {
+            path.add(Solver.MOVE_NAMES[move]);
+        }
+        return path;
+    }
+
+    // Every frontier subtree is searched with the same bound. The lowest frontier index that finds a goal
+    // wins, so workers above it stop early and the returned path does not depend on thread timing.
+    private class BoundIteration {
+        private final FrontierNode[] nodes;
+        private final int bound;
+        private final int[] nextBounds;
+        private final List<String>[] paths;
+        private final AtomicInteger solutionIndex = new AtomicInteger(Integer.MAX_VALUE);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        BoundIteration(FrontierNode[] nodes, int bound) {
+            this.nodes = nodes;
+            this.bound = bound;
+            this.nextBounds = new int[nodes.length];
+            this.paths = new List[nodes.length];
+        }
+
+        private void searchSubtree(int index) {
+            FrontierNode node = nodes[index];
+            if (index > solutionIndex.get() || node.moves.length + node.estimate > bound) {
+                nextBounds[index] = node.moves.length + node.estimate;
+                return;
+            }
+            IDAStarSearch search = new IDAStarSearch(node.board, boardSize, heuristic, heuristicTimer.get());
+            int result = search.searchSubtree(node.moves, bound, () -> index > solutionIndex.get());
+            expandedNodes.add(search.getExpandedNodes());
+            generatedNodes.add(search.getGeneratedNodes());
+            maxDepth.accumulate(search.getMaxDepth());
+            if (result == IDAStarSearch.FOUND) {
+                paths[index] = search.constructPath();
+                solutionIndex.accumulateAndGet(index, Math::min);
+            } else {
+                nextBounds[index] = result;
+            }
+        }
+
+        private class SubtreeTask extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final int from;
+            private final int to;
+
+            SubtreeTask(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from == 1) {
+                    searchSubtree(from);
+                    return;
+                }
+                int middle = (from + to) >>> 1;
+                invokeAll(new SubtreeTask(from, middle), new SubtreeTask(middle, to));
+            }
+        }
+    }
+
+    private class FrontierNode {
+        private final int[] board;
+        private final int[] moves;
+        private final int estimate;
+
+        FrontierNode(int[] board, int[] moves) {
+            this.board = board;
+            this.moves = moves;
+            int[] tilePositions = new int[board.length];
+            for (int position = 0; position < board.length; position++) {
+                tilePositions[board[position]] = position;
+            }
+            this.estimate = heuristic.estimate(board, tilePositions);
+        }
+
+        void addChildren(List<FrontierNode> children) {
+            int emptyTilePosition = 0;
+            while (board[emptyTilePosition] != 0) {
+                emptyTilePosition++;
+            }
+            int emptyTileRow = emptyTilePosition / boardSize;
+            int emptyTileCol = emptyTilePosition % boardSize;
+            int previousMove = moves.length > 0 ? moves[moves.length - 1] : -1;
+            for (int move = 0; move < IDAStarSearch.ROW_MOVES.length; move++) {
+                if (previousMove != -1 && move == (previousMove ^ 1)) {
+                    continue;
+                }
+                int newEmptyTileRow = emptyTileRow + IDAStarSearch.ROW_MOVES[move];
+                int newEmptyTileCol = emptyTileCol + IDAStarSearch.COL_MOVES[move];
+                if (newEmptyTileRow < 0 || newEmptyTileRow >= boardSize
+                        || newEmptyTileCol < 0 || newEmptyTileCol >= boardSize) {
+                    continue;
+                }
+                int newEmptyTilePosition = newEmptyTileRow * boardSize + newEmptyTileCol;
+                int[] newBoard = Arrays.copyOf(board, board.length);
+                newBoard[emptyTilePosition] = newBoard[newEmptyTilePosition];
+                newBoard[newEmptyTilePosition] = 0;
+                int[] newMoves = Arrays.copyOf(moves, moves.length + 1);
+                newMoves[moves.length] = move;
+                children.add(new FrontierNode(newBoard, newMoves));
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.sliding.blocks.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class PatternDatabase implements Heuristic {
+    public static final String NAME = "pattern-database";
+    static final int MAGIC = 0x4E504442;
+    static final int VERSION = 1;
+
+    private final int boardSize;
+    private final int emptyTilePosition;
+    private final int[][] patterns;
+    private final int[][] multipliers;
+    private final int[] patternOfTile;
+    private final ByteBuffer[] tables;
+
+    PatternDatabase(int boardSize, int emptyTilePosition, int[][] patterns, ByteBuffer[] tables) {
+        this.boardSize = boardSize;
+        this.emptyTilePosition = emptyTilePosition;
+        this.patterns = patterns;
+        this.tables = tables;
+        this.multipliers = new int[patterns.length][];
+        this.patternOfTile = new int[boardSize * boardSize];
+        patternOfTile[0] = -1;
+        for (int pattern = 0; pattern < patterns.length; pattern++) {
+            multipliers[pattern] = getMultipliers(boardSize * boardSize, patterns[pattern].length);
+            for (int tile : patterns[pattern]) {
+                patternOfTile[tile] = pattern;
+            }
+        }
+    }
+
+    // header: magic, version, board size, empty tile position, pattern count,
+    // then per pattern its tile count, tiles, and the file offset of its table
+    public static PatternDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 4096));
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a pattern database: " + file);
+            }
+            int boardSize = header.getInt();
+            int emptyTilePosition = header.getInt();
+            int[][] patterns = new int[header.getInt()][];
+            long[] offsets = new long[patterns.length];
+            for (int pattern = 0; pattern < patterns.length; pattern++) {
+                patterns[pattern] = new int[header.getInt()];
+                for (int i = 0; i < patterns[pattern].length; i++) {
+                    patterns[pattern][i] = header.getInt();
+                }
+                offsets[pattern] = header.getLong();
+            }
+
+            ByteBuffer[] tables = new ByteBuffer[patterns.length];
+            for (int pattern = 0; pattern < patterns.length; pattern++) {
+                long size = getTableSize(boardSize * boardSize, patterns[pattern].length);
+                tables[pattern] = channel.map(FileChannel.MapMode.READ_ONLY, offsets[pattern], size);
+            }
+            return new PatternDatabase(boardSize, emptyTilePosition, patterns, tables);
+        }
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getEmptyTilePosition() {
+        return emptyTilePosition;
+    }
+
+    public boolean supports(int[][] goalStates) {
+        return goalStates.length == boardSize * boardSize
+                && goalStates[0][0] * boardSize + goalStates[0][1] == emptyTilePosition;
+    }
+
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    public int getPattern(int tile) {
+        return patternOfTile[tile];
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int estimate(int[] board, int[] tilePositions) {
+        return estimate(tilePositions);
+    }
+
+    // only the pattern of the moved tile changes, its old entry is read with the tile put back for a moment
+    @Override
+    public int update(int[] board, int[] tilePositions, int estimate, int tile, int fromPosition, int toPosition) {
+        int pattern = patternOfTile[tile];
+        int newEstimate = estimatePattern(pattern, tilePositions);
+        tilePositions[tile] = fromPosition;
+        int oldEstimate = estimatePattern(pattern, tilePositions);
+        tilePositions[tile] = toPosition;
+        return estimate + newEstimate - oldEstimate;
+    }
+
+    public int estimate(int[] tilePositions) {
+        int estimate = 0;
+        for (int pattern = 0; pattern < patterns.length; pattern++) {
+            estimate += estimatePattern(pattern, tilePositions);
+        }
+        return estimate;
+    }
+
+    public int estimatePattern(int pattern, int[] tilePositions) {
+        int index = rank(patterns[pattern], tilePositions, multipliers[pattern]);
+        return tables[pattern].get(index) & 0xFF;
+    }
+
+    static int rank(int[] tiles, int[] tilePositions, int[] multipliers) {
+        int index = 0;
+        long occupied = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int position = tilePositions[tiles[i]];
+            int smallerOccupied = Long.bitCount(occupied & ((1L << position) - 1));
+            index += (position - smallerOccupied) * multipliers[i];
+            occupied |= 1L << position;
+        }
+        return index;
+    }
+
+    static int[] getMultipliers(int cells, int tileCount) {
+        int[] multipliers = new int[tileCount];
+        int multiplier = 1;
+        for (int i = tileCount - 1; i >= 0; i--) {
+            multipliers[i] = multiplier;
+            multiplier *= cells - i;
+        }
+        return multipliers;
+    }
+
+    static long getTableSize(int cells, int tileCount) {
+        long size = 1;
+        for (int i = 0; i < tileCount; i++) {
+            size *= cells - i;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,177 @@
+package com.sliding.blocks.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class PatternDatabaseBuilder {
+    private static final byte UNVISITED = -1;
+
+    private final int boardSize;
+    private final int[][] goalStates;
+    private final int[][] patterns;
+
+    public PatternDatabaseBuilder(int boardSize, int emptyTilePosition, int[][] patterns) {
+        this.boardSize = boardSize;
+        this.goalStates = Solver.generateGoalStates(boardSize, emptyTilePosition);
+        this.patterns = patterns;
+        for (int[] pattern : patterns) {
+            if (PatternDatabase.getTableSize(boardSize * boardSize, pattern.length) > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Pattern of " + pattern.length + " tiles is too large for a "
+                        + boardSize + "x" + boardSize + " board!");
+            }
+        }
+    }
+
+    // splits tiles 1..n in order, e.g. "6-6-3" gives {1..6}, {7..12}, {13..15}
+    public static int[][] parsePartition(int boardSize, String partition) {
+        String[] sizes = partition.split("-");
+        int[][] patterns = new int[sizes.length][];
+        int tile = 1;
+        for (int pattern = 0; pattern < sizes.length; pattern++) {
+            patterns[pattern] = new int[Integer.parseInt(sizes[pattern])];
+            for (int i = 0; i < patterns[pattern].length; i++) {
+                patterns[pattern][i] = tile++;
+            }
+        }
+        if (tile != boardSize * boardSize) {
+            throw new IllegalArgumentException("Partition " + partition + " does not cover all tiles!");
+        }
+        return patterns;
+    }
+
+    public void write(Path file) throws IOException {
+        int cells = boardSize * boardSize;
+        int headerSize = 5 * Integer.BYTES;
+        for (int[] pattern : patterns) {
+            headerSize += Integer.BYTES + pattern.length * Integer.BYTES + Long.BYTES;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.putInt(PatternDatabase.MAGIC);
+        header.putInt(PatternDatabase.VERSION);
+        header.putInt(boardSize);
+        header.putInt(goalStates[0][0] * boardSize + goalStates[0][1]);
+        header.putInt(patterns.length);
+        long offset = headerSize;
+        for (int[] pattern : patterns) {
+            header.putInt(pattern.length);
+            for (int tile : pattern) {
+                header.putInt(tile);
+            }
+            header.putLong(offset);
+            offset += PatternDatabase.getTableSize(cells, pattern.length);
+        }
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (int[] pattern : patterns) {
+                long startTime = System.currentTimeMillis();
+                byte[] table = build(pattern);
+                writeFully(channel, ByteBuffer.wrap(table));
+                System.out.println("Pattern " + Arrays.toString(pattern) + ": " + table.length + " entries in "
+                        + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+            }
+        }
+    }
+
+    // Retrograde breadth-first search from the goal placement of the pattern tiles. The other tiles
+    // and the blank are indistinguishable, so a pattern tile may slide into any neighbouring cell that no
+    // other pattern tile occupies and only pattern tile moves are counted, which keeps patterns additive.
+    // Each depth layer is found by rescanning the table, so the byte table is the only memory used.
+    byte[] build(int[] pattern) {
+        int cells = boardSize * boardSize;
+        int[] multipliers = PatternDatabase.getMultipliers(cells, pattern.length);
+        byte[] table = new byte[(int) PatternDatabase.getTableSize(cells, pattern.length)];
+        Arrays.fill(table, UNVISITED);
+
+        int[] tiles = new int[pattern.length];
+        int[] tilePositions = new int[pattern.length];
+        for (int i = 0; i < pattern.length; i++) {
+            tiles[i] = i;
+            tilePositions[i] = goalStates[pattern[i]][0] * boardSize + goalStates[pattern[i]][1];
+        }
+        table[PatternDatabase.rank(tiles, tilePositions, multipliers)] = 0;
+
+        boolean expanded = true;
+        for (int depth = 0; expanded; depth++) {
+            expanded = false;
+            for (int index = 0; index < table.length; index++) {
+                if ((table[index] & 0xFF) != depth) {
+                    continue;
+                }
+                expanded = true;
+                long occupied = unrank(index, multipliers, tilePositions);
+                for (int i = 0; i < tilePositions.length; i++) {
+                    int position = tilePositions[i];
+                    int row = position / boardSize;
+                    int col = position % boardSize;
+                    expand(table, tiles, tilePositions, multipliers, occupied, i, row > 0 ? position - boardSize : -1, depth);
+                    expand(table, tiles, tilePositions, multipliers, occupied, i, row < boardSize - 1 ? position + boardSize : -1, depth);
+                    expand(table, tiles, tilePositions, multipliers, occupied, i, col > 0 ? position - 1 : -1, depth);
+                    expand(table, tiles, tilePositions, multipliers, occupied, i, col < boardSize - 1 ? position + 1 : -1, depth);
+                }
+            }
+        }
+        return table;
+    }
+
+    private void expand(byte[] table, int[] tiles, int[] tilePositions, int[] multipliers,
+                        long occupied, int tile, int newPosition, int depth) {
+        if (newPosition < 0 || (occupied & (1L << newPosition)) != 0) {
+            return;
+        }
+        int oldPosition = tilePositions[tile];
+        tilePositions[tile] = newPosition;
+        int index = PatternDatabase.rank(tiles, tilePositions, multipliers);
+        if (table[index] == UNVISITED) {
+            table[index] = (byte) (depth + 1);
+        }
+        tilePositions[tile] = oldPosition;
+    }
+
+    private long unrank(int index, int[] multipliers, int[] tilePositions) {
+        long occupied = 0;
+        for (int i = 0; i < multipliers.length; i++) {
+            int freeCell = index / multipliers[i];
+            index %= multipliers[i];
+            int position = 0;
+            while (true) {
+                if ((occupied & (1L << position)) == 0) {
+                    if (freeCell == 0) {
+                        break;
+                    }
+                    freeCell--;
+                }
+                position++;
+            }
+            tilePositions[i] = position;
+            occupied |= 1L << position;
+        }
+        return occupied;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // usage: PatternDatabaseBuilder <board size> <empty tile position> <partition, e.g. 6-6-3> <output file>
+    public static void main(String[] args) throws IOException {
+        int boardSize = Integer.parseInt(args[0]);
+        int emptyTilePosition = Integer.parseInt(args[1]);
+        int[][] patterns = parsePartition(boardSize, args[2]);
+        Path file = Paths.get(args[3]);
+
+        long startTime = System.currentTimeMillis();
+        new PatternDatabaseBuilder(boardSize, emptyTilePosition, patterns).write(file);
+        System.out.println("Written " + file + " in " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+    }
+}
@@ -0,0 +1,43 @@
+package com.sliding.blocks.game;
+
+import java.util.Scanner;
+
+public class Puzzle {
+    private final int emptyTilePosition;
+    private final int[][] board;
+
+    public Puzzle(int emptyTilePosition, int[][] board) {
+        this.emptyTilePosition = emptyTilePosition;
+        this.board = board;
+    }
+
+    // number of tiles, goal position of the empty tile (-1 for the last cell), then the board row by row
+    public static Puzzle read(Scanner scanner) {
+        int numberOfTiles = scanner.nextInt();
+        int emptyTilePosition = scanner.nextInt();
+        int boardSize = (int) Math.sqrt(numberOfTiles + 1);
+        int[][] board = new int[boardSize][boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                board[i][j] = scanner.nextInt();
+            }
+        }
+        return new Puzzle(emptyTilePosition, board);
+    }
+
+    public int getBoardSize() {
+        return board.length;
+    }
+
+    public int getEmptyTilePosition() {
+        return emptyTilePosition;
+    }
+
+    public int[][] getBoard() {
+        return board;
+    }
+
+    public int[][] generateGoalStates() {
+        return Solver.generateGoalStates(board.length, emptyTilePosition);
+    }
+}
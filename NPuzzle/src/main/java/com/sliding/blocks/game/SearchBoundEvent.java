@@ -0,0 +1,22 @@
+package com.sliding.blocks.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.sliding.blocks.game.SearchBound")
+@Label("Search Bound")
+@Category("NPuzzle")
+@Description("One cost bound of an NPuzzle search, or one f-layer of a best-first search")
+public class SearchBoundEvent extends Event {
+    @Label("Bound")
+    int bound;
+
+    @Label("Generated Nodes")
+    long generatedNodes;
+
+    @Label("Expanded Nodes")
+    long expandedNodes;
+}
@@ -0,0 +1,169 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import jdk.jfr.FlightRecorder;
+
+public class SearchStatistics {
+    private final List<BoundStatistics> bounds = new ArrayList<>();
+    private final long startTime = System.nanoTime();
+    private long boundStartTime;
+    private long boundStartGenerated;
+    private long boundStartExpanded;
+    private SearchBoundEvent boundEvent;
+    private long generatedNodes;
+    private long expandedNodes;
+    private long peakOpenSize;
+    private long heuristicNanos;
+    private long elapsedNanos;
+    private int solutionDepth = -1;
+
+    public void startBound(long totalGenerated, long totalExpanded) {
+        boundStartTime = System.nanoTime();
+        boundStartGenerated = totalGenerated;
+        boundStartExpanded = totalExpanded;
+        // the first event class load costs a few hundred milliseconds, so events wait for a running recorder
+        boundEvent = FlightRecorder.isInitialized() ? new SearchBoundEvent() : null;
+        if (boundEvent != null) {
+            boundEvent.begin();
+        }
+    }
+
+    public void endBound(int bound, long totalGenerated, long totalExpanded) {
+        BoundStatistics boundStatistics = new BoundStatistics(bound, totalGenerated - boundStartGenerated,
+                totalExpanded - boundStartExpanded, System.nanoTime() - boundStartTime);
+        bounds.add(boundStatistics);
+        generatedNodes = totalGenerated;
+        expandedNodes = totalExpanded;
+
+        if (boundEvent == null) {
+            return;
+        }
+        boundEvent.end();
+        if (boundEvent.shouldCommit()) {
+            boundEvent.bound = bound;
+            boundEvent.generatedNodes = boundStatistics.generatedNodes;
+            boundEvent.expandedNodes = boundStatistics.expandedNodes;
+            boundEvent.commit();
+        }
+    }
+
+    public void finish(int solutionDepth, long peakOpenSize, long heuristicNanos) {
+        finish(solutionDepth, peakOpenSize, heuristicNanos, 1);
+    }
+
+    // the heuristic time is an estimate, clamped to what the given number of threads could have spent
+    public void finish(int solutionDepth, long peakOpenSize, long heuristicNanos, int threads) {
+        this.solutionDepth = solutionDepth;
+        this.peakOpenSize = peakOpenSize;
+        this.elapsedNanos = System.nanoTime() - startTime;
+        this.heuristicNanos = Math.min(heuristicNanos, elapsedNanos * threads);
+    }
+
+    public List<BoundStatistics> getBounds() {
+        return Collections.unmodifiableList(bounds);
+    }
+
+    public long getGeneratedNodes() {
+        return generatedNodes;
+    }
+
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    // deepest recursion for the depth-first searches, largest priority queue for the best-first ones
+    public long getPeakOpenSize() {
+        return peakOpenSize;
+    }
+
+    // estimated from a sample of the heuristic calls, summed over threads; 0 where the heuristic is built into PackedState
+    public long getHeuristicNanos() {
+        return heuristicNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getNodesPerSecond() {
+        return elapsedNanos > 0 ? expandedNodes * 1e9 / elapsedNanos : 0;
+    }
+
+    // the b for which a uniform tree of the solution depth holds as many nodes as were generated
+    public double getEffectiveBranchingFactor() {
+        if (solutionDepth <= 0 || generatedNodes == 0) {
+            return 0;
+        }
+        double low = 1;
+        double high = Math.max(2, generatedNodes);
+        for (int i = 0; i < 100; i++) {
+            double middle = (low + high) / 2;
+            if (uniformTreeSize(middle, solutionDepth) < generatedNodes + 1) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static double uniformTreeSize(double branchingFactor, int depth) {
+        double size = 1;
+        double level = 1;
+        for (int i = 0; i < depth; i++) {
+            level *= branchingFactor;
+            size += level;
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (BoundStatistics bound : bounds) {
+            builder.append(bound).append(System.lineSeparator());
+        }
+        builder.append(String.format("generated: %d, expanded: %d, effective branching factor: %.3f, peak open: %d, "
+                        + "heuristic: %.3f s, time: %.3f s, %.0f nodes/s", generatedNodes, expandedNodes,
+                getEffectiveBranchingFactor(), peakOpenSize, heuristicNanos / 1e9, elapsedNanos / 1e9, getNodesPerSecond()));
+        return builder.toString();
+    }
+
+    public static class BoundStatistics {
+        private final int bound;
+        private final long generatedNodes;
+        private final long expandedNodes;
+        private final long elapsedNanos;
+
+        BoundStatistics(int bound, long generatedNodes, long expandedNodes, long elapsedNanos) {
+            this.bound = bound;
+            this.generatedNodes = generatedNodes;
+            this.expandedNodes = expandedNodes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getBound() {
+            return bound;
+        }
+
+        public long getGeneratedNodes() {
+            return generatedNodes;
+        }
+
+        public long getExpandedNodes() {
+            return expandedNodes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("bound %d: generated %d, expanded %d, %.3f s", bound, generatedNodes, expandedNodes,
+                    elapsedNanos / 1e9);
+        }
+    }
+}
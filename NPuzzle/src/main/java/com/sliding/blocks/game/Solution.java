@@ -0,0 +1,38 @@
+package com.sliding.blocks.game;
+
+import java.util.Collections;
+import java.util.List;
+
+public class Solution {
+    private final List<String> path;
+    private final SearchStatistics statistics;
+
+    public Solution(List<String> path, SearchStatistics statistics) {
+        this.path = path;
+        this.statistics = statistics;
+    }
+
+    public static Solution unsolvable() {
+        return new Solution(null, new SearchStatistics());
+    }
+
+    public boolean isSolvable() {
+        return path != null;
+    }
+
+    public int getPathLength() {
+        return path != null ? path.size() : -1;
+    }
+
+    public List<String> getPath() {
+        return path != null ? path : Collections.emptyList();
+    }
+
+    public long getExpandedNodes() {
+        return statistics.getExpandedNodes();
+    }
+
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+}
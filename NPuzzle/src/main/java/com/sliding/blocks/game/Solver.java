@@ -7,17 +7,29 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
 
 public class Solver {
-    private static int pathLength;
-    private static List<String> path;
+    private final int[][] goalStates;
+    private final Heuristic heuristic;
+    private final DistanceTable distanceTable;
 
-    public static int getPathLength() {
-        return pathLength;
+    public Solver(int[][] goalStates) {
+        this(goalStates, new ManhattanHeuristic(new DistanceTable(goalStates)));
     }
 
-    public static List<String> getPath() {
-        return path;
+    public Solver(int[][] goalStates, Heuristic heuristic) {
+        this.goalStates = goalStates;
+        this.heuristic = heuristic;
+        this.distanceTable = new DistanceTable(goalStates);
+    }
+
+    public int[][] getGoalStates() {
+        return goalStates;
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
     }
 
     public static int[][] generateGoalStates(int boardSize, int emptyTilePosition) {
@@ -46,19 +58,195 @@ public class Solver {
         return goalStates;
     }
 
-    public static void runIDAStar(State initialState, int[][] goalStates, int threshold, int increment) {
+    public Solution solve(int[][] initialBoard) {
+        if (!new State(initialBoard, 0, null, null).isSolvable(goalStates)) {
+            return Solution.unsolvable();
+        }
+        SearchStatistics statistics = new SearchStatistics();
+        IDAStarSearch search = new IDAStarSearch(initialBoard, heuristic);
+        List<String> path = search.solve(statistics);
+        return new Solution(path, statistics);
+    }
+
+    public Solution solveInParallel(int[][] initialBoard, ForkJoinPool pool) {
+        if (!new State(initialBoard, 0, null, null).isSolvable(goalStates)) {
+            return Solution.unsolvable();
+        }
+        ParallelIDAStarSearch search = new ParallelIDAStarSearch(initialBoard.length, heuristic, pool,
+                ParallelIDAStarSearch.DEFAULT_FRONTIER_SIZE);
+        SearchStatistics statistics = new SearchStatistics();
+        List<String> path = search.solve(initialBoard, statistics);
+        return new Solution(path, statistics);
+    }
+
+    public Solution solveBidirectional(int[][] initialBoard) {
+        if (!new PackedState(initialBoard).isSolvable(goalStates)) {
+            return Solution.unsolvable();
+        }
+        SearchStatistics statistics = new SearchStatistics();
+        List<String> path = new BidirectionalSearch(initialBoard, goalStates).solve(statistics);
+        return new Solution(path, statistics);
+    }
+
+    // returns the best solution found by the deadline together with its proven suboptimality bound
+    public AnytimeSolution solveAnytime(int[][] initialBoard, double weight, long timeBudgetNanos, long memoryBudgetBytes) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        PackedState initialState = new PackedState(initialBoard);
+        if (!initialState.isSolvable(goalStates)) {
+            return new AnytimeSolution(null, new SearchStatistics(), Integer.MAX_VALUE, 0);
+        }
+        return new AnytimeSearch(distanceTable, weight, memoryBudgetBytes).solve(initialState, deadline);
+    }
+
+    // a walk along the best moves stored for every 3x3 board, no search involved
+    public Solution solveFromDatabase(int[][] initialBoard, EightPuzzleDatabase database) {
+        if (!database.supports(goalStates)) {
+            throw new IllegalArgumentException("The 8-puzzle database only covers 3x3 boards!");
+        }
+        SearchStatistics statistics = new SearchStatistics();
+        statistics.startBound(0, 0);
+        List<String> path = database.getPath(initialBoard, goalStates);
+        if (path == null) {
+            return Solution.unsolvable();
+        }
+        statistics.endBound(path.size(), path.size(), path.size());
+        statistics.finish(path.size(), 0, 0);
+        return new Solution(path, statistics);
+    }
+
+    // SMA* keeping at most nodeBudget packed nodes; optimal whenever the budget holds the solution path
+    public Solution solveMemoryBounded(int[][] initialBoard, int nodeBudget) {
+        PackedState initialState = new PackedState(initialBoard);
+        if (!initialState.isSolvable(goalStates)) {
+            return Solution.unsolvable();
+        }
+        SearchStatistics statistics = new SearchStatistics();
+        List<String> path = new MemoryBoundedSearch(initialBoard.length, distanceTable, nodeBudget)
+                .solve(initialState, statistics);
+        return new Solution(path, statistics);
+    }
+
+    // A* over packed boards where the table keeps the best g per board, so with the consistent
+    // Manhattan estimate every board is expanded at most once while it stays in the table.
+    // Expansions are reported per f value, which plays the role of the bound.
+    public Solution solveBestFirst(int[][] initialBoard, long memoryBudgetBytes) {
+        PackedState initialState = new PackedState(initialBoard);
+        if (!initialState.isSolvable(goalStates)) {
+            return Solution.unsolvable();
+        }
+        initialState.calculateManhattanDistance(distanceTable);
+
+        TranspositionTable transpositionTable = new TranspositionTable(memoryBudgetBytes);
+        PriorityQueue<PackedState> priorityQueue = new PriorityQueue<>();
+        List<PackedState> children = new ArrayList<>();
+        transpositionTable.offer(initialState.getBoard(), 0);
+        priorityQueue.add(initialState);
+        SearchStatistics statistics = new SearchStatistics();
+        long expandedNodes = 0;
+        long generatedNodes = 0;
+        int peakOpenSize = 1;
+        int bound = initialState.getManhattanDistance();
+        statistics.startBound(0, 0);
+        while (!priorityQueue.isEmpty()) {
+            PackedState currentState = priorityQueue.poll();
+            int cost = currentState.getMovesCount() + currentState.getManhattanDistance();
+            if (cost > bound) {
+                statistics.endBound(bound, generatedNodes, expandedNodes);
+                statistics.startBound(generatedNodes, expandedNodes);
+                bound = cost;
+            }
+            long board = currentState.getBoard();
+            int bestMovesCount = transpositionTable.get(board);
+            if (transpositionTable.isClosed(board)
+                    || (bestMovesCount != TranspositionTable.MISSING && bestMovesCount < currentState.getMovesCount())) {
+                continue;
+            }
+
+            if (currentState.isSolved()) {
+                statistics.endBound(bound, generatedNodes, expandedNodes);
+                statistics.finish(currentState.getMovesCount(), peakOpenSize, 0);
+                return new Solution(constructPath(currentState), statistics);
+            }
+
+            transpositionTable.close(board, currentState.getMovesCount());
+            expandedNodes++;
+            children.clear();
+            currentState.addChildren(distanceTable, children);
+            generatedNodes += children.size();
+            for (PackedState child : children) {
+                if (transpositionTable.offer(child.getBoard(), child.getMovesCount())) {
+                    priorityQueue.add(child);
+                }
+            }
+            peakOpenSize = Math.max(peakOpenSize, priorityQueue.size());
+        }
+        return Solution.unsolvable();
+    }
+
+    public Solution runIDAStar(State initialState, int threshold, int increment) {
+        SearchStatistics statistics = new SearchStatistics();
+        NodeCounter counter = new NodeCounter();
+        while (true) {
+            statistics.startBound(counter.generatedNodes, counter.expandedNodes);
+            State finalState = runAStar(initialState, threshold, counter);
+            statistics.endBound(threshold, counter.generatedNodes, counter.expandedNodes);
+            if (finalState != null) {
+                statistics.finish(finalState.getMovesCount(), counter.peakOpenSize, 0);
+                return new Solution(constructPath(finalState), statistics);
+            }
+            threshold += increment;
+        }
+    }
+
+    public Solution runIDAStar(PackedState initialState, int threshold, int increment) {
+        SearchStatistics statistics = new SearchStatistics();
+        NodeCounter counter = new NodeCounter();
         while (true) {
-            State finalState = runAStar(initialState, goalStates, threshold);
+            statistics.startBound(counter.generatedNodes, counter.expandedNodes);
+            PackedState finalState = runAStar(initialState, threshold, counter);
+            statistics.endBound(threshold, counter.generatedNodes, counter.expandedNodes);
             if (finalState != null) {
-                pathLength = finalState.getMovesCount();
-                path = constructPath(finalState);
-                return;
+                statistics.finish(finalState.getMovesCount(), counter.peakOpenSize, 0);
+                return new Solution(constructPath(finalState), statistics);
             }
             threshold += increment;
         }
     }
 
-    public static State runAStar(State initialState, int[][] goalStates, int threshold) {
+    public PackedState runAStar(PackedState initialState, int threshold) {
+        return runAStar(initialState, threshold, new NodeCounter());
+    }
+
+    public State runAStar(State initialState, int threshold) {
+        return runAStar(initialState, threshold, new NodeCounter());
+    }
+
+    private PackedState runAStar(PackedState initialState, int threshold, NodeCounter counter) {
+        PriorityQueue<PackedState> priorityQueue = new PriorityQueue<>();
+        List<PackedState> children = new ArrayList<>();
+        priorityQueue.add(initialState);
+        while (!priorityQueue.isEmpty()) {
+            PackedState currentState = priorityQueue.poll();
+
+            if (currentState.isSolved()) {
+                return currentState;
+            }
+
+            counter.expandedNodes++;
+            children.clear();
+            currentState.addChildren(distanceTable, children);
+            counter.generatedNodes += children.size();
+            for (PackedState child : children) {
+                if (child.getManhattanDistance() + child.getMovesCount() <= threshold) {
+                    priorityQueue.add(child);
+                }
+            }
+            counter.peakOpenSize = Math.max(counter.peakOpenSize, priorityQueue.size());
+        }
+        return null;
+    }
+
+    private State runAStar(State initialState, int threshold, NodeCounter counter) {
         PriorityQueue<State> priorityQueue = new PriorityQueue<>();
         priorityQueue.add(initialState);
         while (!priorityQueue.isEmpty()) {
@@ -68,12 +256,15 @@ public class Solver {
                 return currentState;
             }
 
-            List<State> children = currentState.getChildren(goalStates);
+            counter.expandedNodes++;
+            List<State> children = currentState.getChildren(distanceTable);
+            counter.generatedNodes += children.size();
             for (State child : children) {
                 if (child.getManhattanDistance() + child.getMovesCount() <= threshold) {
                     priorityQueue.add(child);
                 }
             }
+            counter.peakOpenSize = Math.max(counter.peakOpenSize, priorityQueue.size());
         }
         return null;
     }
@@ -90,8 +281,29 @@ public class Solver {
         return path;
     }
 
+    private static List<String> constructPath(PackedState finalState) {
+        List<String> path = new ArrayList<>();
+        PackedState currentState = finalState;
+        while (currentState.getParent() != null) {
+            path.add(MOVE_NAMES[currentState.getPreviousMove()]);
+            currentState = currentState.getParent();
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    // indexed like the { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } empty tile moves in State
+    static final String[] MOVE_NAMES = { "down", "up", "right", "left" };
+
     private static final Map<String, String> MOVES = new HashMap<>();
 
+    // totals kept across the threshold sweeps of the legacy searches
+    private static class NodeCounter {
+        private long generatedNodes;
+        private long expandedNodes;
+        private int peakOpenSize;
+    }
+
     static {
         MOVES.put(Arrays.toString(new int[] { 1, 0 }), "up");
         MOVES.put(Arrays.toString(new int[] { -1, 0 }), "down");
@@ -22,6 +22,10 @@ public class State implements Comparable<State> {
         findEmptyTile();
     }
 
+    public int[][] getBoard() {
+        return board;
+    }
+
     public int getMovesCount() {
         return movesCount;
     }
@@ -57,16 +61,33 @@ public class State implements Comparable<State> {
         }
     }
 
+    public void calculateManhattanDistance(DistanceTable distanceTable) {
+        manhattanDistance = 0;
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board[i].length; j++) {
+                manhattanDistance += distanceTable.getDistance(board[i][j], i * board.length + j);
+            }
+        }
+    }
+
     public boolean isSolved() {
         return manhattanDistance == 0;
     }
 
     public boolean isSolvable() {
+        return isSolvable(board.length - 1);
+    }
+
+    public boolean isSolvable(int[][] goalStates) {
+        return isSolvable(goalStates[0][0]);
+    }
+
+    private boolean isSolvable(int goalEmptyTileRow) {
         int inversions = getInversions();
-        return isOddSizedBoardSolvable(inversions) || isEvenSizedBoardSolvable(inversions);
+        return isOddSizedBoardSolvable(inversions) || isEvenSizedBoardSolvable(inversions, goalEmptyTileRow);
     }
 
-    public List<State> getChildren(int[][] goalStates) {
+    public List<State> getChildren(DistanceTable distanceTable) {
         List<State> getChildren = new ArrayList<>();
         for (int[] move : MOVES) {
             int newEmptyTileRow = emptyTileRow + move[0];
@@ -84,7 +105,9 @@ public class State implements Comparable<State> {
                 }
 
                 State newChild = new State(newBoard, movesCount + 1, this, Arrays.toString(move));
-                newChild.calculateManhattanDistance(goalStates);
+                int movedTile = newBoard[emptyTileRow][emptyTileCol];
+                newChild.manhattanDistance = manhattanDistance + distanceTable.getDelta(movedTile,
+                        newEmptyTileRow * board.length + newEmptyTileCol, emptyTileRow * board.length + emptyTileCol);
                 getChildren.add(newChild);
             }
         }
@@ -132,8 +155,9 @@ public class State implements Comparable<State> {
         return board.length % 2 == 1 && inversions % 2 == 0;
     }
 
-    private boolean isEvenSizedBoardSolvable(int inversions) {
-        return board.length % 2 == 0 && (inversions + emptyTileRow) % 2 == 1;
+    // the goal board has no inversions, so only the rows of the empty tile have to share parity
+    private boolean isEvenSizedBoardSolvable(int inversions, int goalEmptyTileRow) {
+        return board.length % 2 == 0 && (inversions + emptyTileRow) % 2 == goalEmptyTileRow % 2;
     }
 
     private int[][] copyBoard(int[][] board) {
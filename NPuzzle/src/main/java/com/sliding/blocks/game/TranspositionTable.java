@@ -0,0 +1,103 @@
+package com.sliding.blocks.game;
+
+public class TranspositionTable {
+    public static final int MISSING = -1;
+    private static final long EMPTY = 0;
+    private static final int BYTES_PER_ENTRY = Long.BYTES + Integer.BYTES;
+    private static final int PROBE_LIMIT = 8;
+
+    // keys are packed boards, which are never 0 because a board holds every tile exactly once
+    private final long[] keys;
+    // the best g-value of an entry is shifted left once, the lowest bit marks it as expanded
+    private final int[] values;
+    private final int mask;
+    private final int shift;
+    private int size;
+    private long replacements;
+
+    public TranspositionTable(long memoryBudgetBytes) {
+        long entries = Long.highestOneBit(Math.max(PROBE_LIMIT, memoryBudgetBytes / BYTES_PER_ENTRY));
+        int capacity = (int) Math.min(entries, 1 << 30);
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    public int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] >>> 1 : MISSING;
+    }
+
+    public boolean isClosed(long key) {
+        int slot = find(key);
+        return slot >= 0 && (values[slot] & 1) != 0;
+    }
+
+    // stores g if the board is new or was reached with a larger g; returns false for a duplicate
+    public boolean offer(long key, int g) {
+        int slot = slotFor(key);
+        if (keys[slot] == key && values[slot] >>> 1 <= g) {
+            return false;
+        }
+        keys[slot] = key;
+        values[slot] = g << 1;
+        return true;
+    }
+
+    public void close(long key, int g) {
+        int slot = slotFor(key);
+        keys[slot] = key;
+        values[slot] = (g << 1) | 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public long getReplacements() {
+        return replacements;
+    }
+
+    private int find(long key) {
+        int slot = hash(key);
+        for (int probe = 0; probe < PROBE_LIMIT; probe++, slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == EMPTY) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the slot holding the key, else the first empty slot of its probe window. A full window
+    // gives up its deepest entry, which is the cheapest one to regenerate.
+    private int slotFor(long key) {
+        int slot = hash(key);
+        int deepestSlot = slot;
+        for (int probe = 0; probe < PROBE_LIMIT; probe++, slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            if (keys[slot] == EMPTY) {
+                size++;
+                return slot;
+            }
+            if (values[slot] >>> 1 > values[deepestSlot] >>> 1) {
+                deepestSlot = slot;
+            }
+        }
+        replacements++;
+        return deepestSlot;
+    }
+
+    private int hash(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
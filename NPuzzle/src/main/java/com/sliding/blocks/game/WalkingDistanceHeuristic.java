@@ -0,0 +1,201 @@
+package com.sliding.blocks.game;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class WalkingDistanceHeuristic implements Heuristic {
+    public static final String NAME = "walking-distance";
+    private static final int MAX_BOARD_SIZE = 4;
+    private static final int BITS_PER_COUNT = 3;
+    private static final Map<Integer, DistanceMap> TABLES = new ConcurrentHashMap<>();
+
+    private final int boardSize;
+    private final int blankShift;
+    private final int[] goalRows;
+    private final int[] goalCols;
+    private final DistanceMap rowTable;
+    private final DistanceMap colTable;
+
+    public WalkingDistanceHeuristic(int[][] goalStates) {
+        this.boardSize = (int) Math.sqrt(goalStates.length);
+        if (boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Walking distance supports at most " + MAX_BOARD_SIZE + "x" + MAX_BOARD_SIZE + " boards!");
+        }
+        this.blankShift = boardSize * (boardSize - 1) * BITS_PER_COUNT;
+        this.goalRows = new int[goalStates.length];
+        this.goalCols = new int[goalStates.length];
+        for (int tile = 0; tile < goalStates.length; tile++) {
+            goalRows[tile] = goalStates[tile][0];
+            goalCols[tile] = goalStates[tile][1];
+        }
+        this.rowTable = getTable(goalStates[0][0]);
+        this.colTable = getTable(goalStates[0][1]);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int estimate(int[] board, int[] tilePositions) {
+        long rowKey = 0;
+        long colKey = 0;
+        for (int position = 0; position < board.length; position++) {
+            int tile = board[position];
+            int row = position / boardSize;
+            int col = position % boardSize;
+            if (tile == 0) {
+                rowKey |= (long) row << blankShift;
+                colKey |= (long) col << blankShift;
+            } else {
+                rowKey += countBit(row, goalRows[tile]);
+                colKey += countBit(col, goalCols[tile]);
+            }
+        }
+        return rowTable.get(rowKey) + colTable.get(colKey);
+    }
+
+    @Override
+    public int update(int[] board, int[] tilePositions, int estimate, int tile, int fromPosition, int toPosition) {
+        return estimate(board, tilePositions);
+    }
+
+    // the count of the last goal line follows from the number of tiles in the line, so it is not stored
+    private long countBit(int line, int goalLine) {
+        return goalLine == boardSize - 1 ? 0 : 1L << ((line * (boardSize - 1) + goalLine) * BITS_PER_COUNT);
+    }
+
+    private DistanceMap getTable(int goalBlankLine) {
+        return TABLES.computeIfAbsent(boardSize * MAX_BOARD_SIZE + goalBlankLine, key -> buildTable(goalBlankLine));
+    }
+
+    // Breadth-first search over the walking distance abstraction: counts[line][goalLine] is the number
+    // of tiles in a line that belong to goalLine, and a move takes any tile from a line next to the blank.
+    private DistanceMap buildTable(int goalBlankLine) {
+        int[][] counts = new int[boardSize][boardSize];
+        for (int line = 0; line < boardSize; line++) {
+            counts[line][line] = line == goalBlankLine ? boardSize - 1 : boardSize;
+        }
+
+        DistanceMap table = new DistanceMap();
+        long[] queue = new long[1024];
+        int head = 0;
+        int tail = 0;
+        long start = encode(counts, goalBlankLine);
+        table.put(start, 0);
+        queue[tail++] = start;
+        while (head < tail) {
+            long key = queue[head++];
+            int distance = table.get(key);
+            int blankLine = decode(key, counts);
+            for (int neighbour = blankLine - 1; neighbour <= blankLine + 1; neighbour += 2) {
+                if (neighbour < 0 || neighbour >= boardSize) {
+                    continue;
+                }
+                for (int goalLine = 0; goalLine < boardSize; goalLine++) {
+                    if (counts[neighbour][goalLine] == 0) {
+                        continue;
+                    }
+                    counts[neighbour][goalLine]--;
+                    counts[blankLine][goalLine]++;
+                    long next = encode(counts, neighbour);
+                    if (table.get(next) == DistanceMap.MISSING) {
+                        table.put(next, distance + 1);
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, queue.length * 2);
+                        }
+                        queue[tail++] = next;
+                    }
+                    counts[blankLine][goalLine]--;
+                    counts[neighbour][goalLine]++;
+                }
+            }
+        }
+        return table;
+    }
+
+    private long encode(int[][] counts, int blankLine) {
+        long key = (long) blankLine << blankShift;
+        for (int line = 0; line < boardSize; line++) {
+            for (int goalLine = 0; goalLine < boardSize - 1; goalLine++) {
+                key += countBit(line, goalLine) * counts[line][goalLine];
+            }
+        }
+        return key;
+    }
+
+    private int decode(long key, int[][] counts) {
+        int blankLine = (int) (key >>> blankShift);
+        long mask = (1L << BITS_PER_COUNT) - 1;
+        for (int line = 0; line < boardSize; line++) {
+            int remaining = line == blankLine ? boardSize - 1 : boardSize;
+            for (int goalLine = 0; goalLine < boardSize - 1; goalLine++) {
+                counts[line][goalLine] = (int) ((key >>> ((line * (boardSize - 1) + goalLine) * BITS_PER_COUNT)) & mask);
+                remaining -= counts[line][goalLine];
+            }
+            counts[line][boardSize - 1] = remaining;
+        }
+        return blankLine;
+    }
+
+    private static class DistanceMap {
+        static final int MISSING = -1;
+        private static final long EMPTY = -1L;
+        private long[] keys = new long[1 << 10];
+        private byte[] distances = new byte[1 << 10];
+        private int size;
+
+        DistanceMap() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return distances[slot];
+                }
+                if (keys[slot] == EMPTY) {
+                    return MISSING;
+                }
+            }
+        }
+
+        void put(long key, int distance) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                size++;
+            }
+            keys[slot] = key;
+            distances[slot] = (byte) distance;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            byte[] oldDistances = distances;
+            keys = new long[oldKeys.length * 2];
+            distances = new byte[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    put(oldKeys[slot], oldDistances[slot]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
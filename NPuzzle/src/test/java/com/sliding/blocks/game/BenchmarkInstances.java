@@ -0,0 +1,83 @@
+package com.sliding.blocks.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class BenchmarkInstances {
+    static final String KORF_INSTANCES = "/korf100.txt";
+
+    private BenchmarkInstances() {
+    }
+
+    static final class KorfInstance {
+        final int optimalLength;
+        final int[][] board;
+
+        KorfInstance(int optimalLength, int[][] board) {
+            this.optimalLength = optimalLength;
+            this.board = board;
+        }
+    }
+
+    // one instance per line: number, optimal length, then the 16 tiles row by row; the goal has the empty tile first
+    static KorfInstance readKorfInstance(int number) {
+        try (InputStream input = BenchmarkInstances.class.getResourceAsStream(KORF_INSTANCES);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                if (Integer.parseInt(fields[0]) != number) {
+                    continue;
+                }
+                int[] tiles = new int[fields.length - 2];
+                for (int i = 0; i < tiles.length; i++) {
+                    tiles[i] = Integer.parseInt(fields[i + 2]);
+                }
+                return new KorfInstance(Integer.parseInt(fields[1]), toBoard(tiles, 4));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throw new IllegalArgumentException("No Korf instance " + number + " in " + KORF_INSTANCES);
+    }
+
+    static int[][] toBoard(int[] tiles, int boardSize) {
+        int[][] board = new int[boardSize][boardSize];
+        for (int position = 0; position < tiles.length; position++) {
+            board[position / boardSize][position % boardSize] = tiles[position];
+        }
+        return board;
+    }
+
+    // random walks from the goal, so every board is solvable
+    static List<int[][]> randomBoards(int boardSize, int count, int walkLength, long seed) {
+        int[][] goalStates = Solver.generateGoalStates(boardSize, -1);
+        int[][] goalBoard = new int[boardSize][boardSize];
+        for (int tile = 1; tile < goalStates.length; tile++) {
+            goalBoard[goalStates[tile][0]][goalStates[tile][1]] = tile;
+        }
+        DistanceTable distanceTable = new DistanceTable(goalStates);
+        Random random = new Random(seed);
+        List<int[][]> boards = new ArrayList<>(count);
+        while (boards.size() < count) {
+            State state = new State(goalBoard, 0, null, null);
+            for (int i = 0; i < walkLength; i++) {
+                List<State> children = state.getChildren(distanceTable);
+                state = new State(children.get(random.nextInt(children.size())).getBoard(), 0, null, null);
+            }
+            boards.add(state.getBoard());
+        }
+        return boards;
+    }
+}
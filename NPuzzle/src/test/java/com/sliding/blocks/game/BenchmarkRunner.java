@@ -0,0 +1,24 @@
+package com.sliding.blocks.game;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+    private static final String DEFAULT_INCLUDE = ".*";
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    // usage: BenchmarkRunner [benchmark regex] [result file]
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        String result = args.length > 1 ? args[1] : DEFAULT_RESULT;
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackage().getName() + "\\..*(" + include + ").*")
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,52 @@
+package com.sliding.blocks.game;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// the same fixed-seed random 8-puzzles every run, reported as time per solved board
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EightPuzzleBenchmark {
+    private static final int INSTANCES = 200;
+    private static final int WALK_LENGTH = 200;
+    private static final long SEED = 42;
+
+    @Param({ ManhattanHeuristic.NAME, LinearConflictHeuristic.NAME })
+    public String heuristic;
+
+    private List<int[][]> boards;
+    private Solver solver;
+
+    @Setup
+    public void setUp() throws IOException {
+        boards = BenchmarkInstances.randomBoards(3, INSTANCES, WALK_LENGTH, SEED);
+        int[][] goalStates = Solver.generateGoalStates(3, -1);
+        solver = new Solver(goalStates, Heuristic.forName(heuristic, goalStates));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTANCES)
+    public void solve(Blackhole blackhole) {
+        for (int[][] board : boards) {
+            blackhole.consume(solver.solve(board));
+        }
+    }
+}
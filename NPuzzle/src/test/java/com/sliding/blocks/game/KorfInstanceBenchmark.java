@@ -0,0 +1,50 @@
+package com.sliding.blocks.game;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// a whole optimal solve per operation; a wrong length fails the run instead of reporting a fast time
+// the subclasses only choose which of the Korf instances to solve
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public abstract class KorfInstanceBenchmark {
+    @Param({ LinearConflictHeuristic.NAME, WalkingDistanceHeuristic.NAME })
+    public String heuristic;
+
+    private BenchmarkInstances.KorfInstance korfInstance;
+    private Solver solver;
+
+    protected abstract int getInstance();
+
+    @Setup
+    public void setUp() throws IOException {
+        korfInstance = BenchmarkInstances.readKorfInstance(getInstance());
+        int[][] goalStates = Solver.generateGoalStates(4, 0);
+        solver = new Solver(goalStates, Heuristic.forName(heuristic, goalStates));
+    }
+
+    @Benchmark
+    public Solution solve() {
+        Solution solution = solver.solve(korfInstance.board);
+        if (solution.getPathLength() != korfInstance.optimalLength) {
+            throw new IllegalStateException("Korf instance " + getInstance() + " solved in " + solution.getPathLength()
+                    + " moves instead of " + korfInstance.optimalLength);
+        }
+        return solution;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sliding.blocks.game;
+
+import org.openjdk.jmh.annotations.Param;
+
+// ten of Korf's instances that walking-distance solves in well under a second each, for a quick check
+// (mvn -Pbenchmark test -Dbenchmark.include=KorfQuick); KorfBenchmark runs all of them
+public class KorfQuickBenchmark extends KorfInstanceBenchmark {
+    @Param({ "9", "12", "19", "28", "30", "42", "47", "48", "55", "79" })
+    public int instance;
+
+    @Override
+    protected int getInstance() {
+        return instance;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sliding.blocks.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Per-node costs on scrambled 15-puzzles. Every call takes the next board of a fixed set, so the
+// branches do not settle on a single position.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+    private static final int INSTANCES = 100;
+    private static final int WALK_LENGTH = 200;
+    private static final long SEED = 42;
+
+    private int[][] goalStates;
+    private DistanceTable distanceTable;
+    private com.sliding.blocks.game.State[] states;
+    private PackedState[] packedStates;
+    private final List<PackedState> children = new ArrayList<>();
+    private int index;
+
+    @Setup
+    public void setUp() {
+        goalStates = Solver.generateGoalStates(4, -1);
+        distanceTable = new DistanceTable(goalStates);
+        List<int[][]> boards = BenchmarkInstances.randomBoards(4, INSTANCES, WALK_LENGTH, SEED);
+        states = new com.sliding.blocks.game.State[INSTANCES];
+        packedStates = new PackedState[INSTANCES];
+        for (int i = 0; i < INSTANCES; i++) {
+            states[i] = new com.sliding.blocks.game.State(boards.get(i), 0, null, null);
+            states[i].calculateManhattanDistance(distanceTable);
+            packedStates[i] = new PackedState(boards.get(i));
+            packedStates[i].calculateManhattanDistance(distanceTable);
+        }
+    }
+
+    private int nextIndex() {
+        index = index + 1 == INSTANCES ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public List<com.sliding.blocks.game.State> getChildren() {
+        return states[nextIndex()].getChildren(distanceTable);
+    }
+
+    @Benchmark
+    public List<PackedState> getPackedChildren() {
+        children.clear();
+        packedStates[nextIndex()].addChildren(distanceTable, children);
+        return children;
+    }
+
+    // a full rescan of every child against the incremental distances getPackedChildren already has
+    @Benchmark
+    public void getPackedChildrenWithRescan(Blackhole blackhole) {
+        children.clear();
+        packedStates[nextIndex()].addChildren(distanceTable, children);
+        for (PackedState child : children) {
+            child.calculateManhattanDistance(distanceTable);
+            blackhole.consume(child.getManhattanDistance());
+        }
+    }
+
+    @Benchmark
+    public int calculateManhattanDistance() {
+        com.sliding.blocks.game.State state = states[nextIndex()];
+        state.calculateManhattanDistance(goalStates);
+        return state.getManhattanDistance();
+    }
+
+    @Benchmark
+    public int calculatePackedManhattanDistance() {
+        PackedState state = packedStates[nextIndex()];
+        state.calculateManhattanDistance(distanceTable);
+        return state.getManhattanDistance();
+    }
+
+    @Benchmark
+    public boolean isSolvable() {
+        return states[nextIndex()].isSolvable(goalStates);
+    }
+
+    @Benchmark
+    public boolean isPackedSolvable() {
+        return packedStates[nextIndex()].isSolvable(goalStates);
+    }
+}
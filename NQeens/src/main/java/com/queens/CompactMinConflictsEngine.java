@@ -0,0 +1,258 @@
+package com.queens;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+// The min-conflicts search of MinConflictsEngine cut down to about 21 bytes per queen, for boards of up to
+// 2^30 queens. MinConflictsEngine spends about 60: int counters, the rows xor of every line and two sets
+// with an index per entry. Here the counters are saturating bytes, only the columns keep their rows xor,
+// everything large lives off the heap, and the sets are lazy: a queen goes into the conflicted set when
+// it is put in conflict and a column into the empty set when it is left empty, and either is only dropped
+// when a sample finds it stale. The last queen to arrive on a line that still holds several never left
+// it, so the set is never empty while a conflict remains, and the conflicts are counted exactly on the
+// side. A queen moving into a column with a single queen puts that one in the set as well, otherwise only
+// the newcomers would ever move and a repair could not spread from one column to the next.
+// The board is always sampled, never scanned, and the first placement is a permutation of the columns.
+final class CompactMinConflictsEngine {
+    static final int MAX_QUEENS_COUNT = 1 << 30;
+    private static final int COLUMN_SAMPLES = 32;
+    private static final int TOURNAMENT_SIZE = 8;
+
+    private final int queensCount;
+    private final SplittableRandom random;
+    private final OffHeapIntArray queensPositions;
+    private final SaturatingCounters columnConflicts;
+    private final SaturatingCounters mainDiagonalConflicts;
+    private final SaturatingCounters secondDiagonalConflicts;
+    // xor of the rows of the queens in every column, which is the row of the queen while it is alone there
+    private final OffHeapIntArray columnRows;
+    private final LazyIntSet conflictedQueens;
+    private final LazyIntSet emptyColumns;
+    // queens beyond the first on every line, summed over all lines
+    private long conflicts;
+    private int movesMade;
+
+    CompactMinConflictsEngine(int queensCount, OffHeapStorage storage) throws IOException {
+        this(queensCount, storage, new SplittableRandom());
+    }
+
+    CompactMinConflictsEngine(int queensCount, OffHeapStorage storage, long seed) throws IOException {
+        this(queensCount, storage, new SplittableRandom(seed));
+    }
+
+    private CompactMinConflictsEngine(int queensCount, OffHeapStorage storage, SplittableRandom random) throws IOException {
+        if (queensCount < 1 || queensCount > MAX_QUEENS_COUNT) {
+            throw new IllegalArgumentException("Queens count must be between 1 and " + MAX_QUEENS_COUNT + ": " + queensCount);
+        }
+        this.queensCount = queensCount;
+        this.random = random;
+        this.queensPositions = new OffHeapIntArray(storage, queensCount);
+        this.columnConflicts = new SaturatingCounters(storage, queensCount);
+        this.columnRows = new OffHeapIntArray(storage, queensCount);
+        this.mainDiagonalConflicts = new SaturatingCounters(storage, 2 * queensCount - 1);
+        this.secondDiagonalConflicts = new SaturatingCounters(storage, 2 * queensCount - 1);
+        this.conflictedQueens = new LazyIntSet(storage, queensCount);
+        this.emptyColumns = new LazyIntSet(storage, queensCount);
+    }
+
+    // Places the queens row by row on columns nobody has taken yet, so the columns after row r of the
+    // positions are always the free ones and are where the samples are drawn from. Each queen takes the
+    // sample with the fewest diagonal conflicts, the first free one if there is one.
+    void initialize() {
+        movesMade = 0;
+        conflicts = 0;
+        columnConflicts.clear();
+        columnRows.clear();
+        mainDiagonalConflicts.clear();
+        secondDiagonalConflicts.clear();
+        conflictedQueens.clear();
+        emptyColumns.clear();
+        for (int queenIndex = 0; queenIndex < queensCount; queenIndex++) {
+            queensPositions.set(queenIndex, queenIndex);
+        }
+
+        for (int queenIndex = 0; queenIndex < queensCount; queenIndex++) {
+            int chosenIndex = chooseUntakenColumnIndex(queenIndex);
+            int columnIndex = queensPositions.get(chosenIndex);
+            queensPositions.set(chosenIndex, queensPositions.get(queenIndex));
+            putQueen(queenIndex, columnIndex);
+        }
+    }
+
+    // moves queens until no queen is in conflict or the moves since the last initialization reach the limit
+    void resolveConflicts(int maxNumberOfMoves) {
+        while (movesMade < maxNumberOfMoves && !isSolved()) {
+            step();
+        }
+    }
+
+    // moves a queen with the most conflicts to a cell of its row with the fewest
+    void step() {
+        int queenIndex = chooseQueenWithMaximumConflicts();
+        removeQueen(queenIndex, queensPositions.get(queenIndex));
+        putQueen(queenIndex, chooseSampledCellWithMinimalConflicts(queenIndex));
+        movesMade++;
+    }
+
+    boolean isSolved() {
+        return conflicts == 0;
+    }
+
+    int getMovesMade() {
+        return movesMade;
+    }
+
+    int getQueensCount() {
+        return queensCount;
+    }
+
+    int getQueenPosition(int queenIndex) {
+        return queensPositions.get(queenIndex);
+    }
+
+    private void putQueen(int queenIndex, int columnIndex) {
+        queensPositions.set(queenIndex, columnIndex);
+        if (columnConflicts.get(columnIndex) == 1) {
+            conflictedQueens.add(columnRows.get(columnIndex));
+        }
+        columnRows.set(columnIndex, columnRows.get(columnIndex) ^ queenIndex);
+        boolean conflicted = addToLine(columnConflicts, columnIndex);
+        conflicted |= addToLine(mainDiagonalConflicts, getMainDiagonalIndex(queenIndex, columnIndex));
+        conflicted |= addToLine(secondDiagonalConflicts, getSecondDiagonalIndex(queenIndex, columnIndex));
+        if (conflicted) {
+            conflictedQueens.add(queenIndex);
+        }
+    }
+
+    // the queen may stay in the conflicted set, the next sample that finds it there drops it
+    private void removeQueen(int queenIndex, int columnIndex) {
+        columnRows.set(columnIndex, columnRows.get(columnIndex) ^ queenIndex);
+        if (removeFromLine(columnConflicts, columnIndex) == 0) {
+            emptyColumns.add(columnIndex);
+        }
+        removeFromLine(mainDiagonalConflicts, getMainDiagonalIndex(queenIndex, columnIndex));
+        removeFromLine(secondDiagonalConflicts, getSecondDiagonalIndex(queenIndex, columnIndex));
+    }
+
+    // returns whether the line now holds another queen
+    private boolean addToLine(SaturatingCounters lineConflicts, int lineIndex) {
+        if (lineConflicts.increment(lineIndex) > 1) {
+            conflicts++;
+            return true;
+        }
+        return false;
+    }
+
+    // returns the queens left on the line
+    private int removeFromLine(SaturatingCounters lineConflicts, int lineIndex) {
+        int queens = lineConflicts.decrement(lineIndex);
+        if (queens > 0) {
+            conflicts--;
+        }
+        return queens;
+    }
+
+    private boolean isConflicted(int queenIndex) {
+        int columnIndex = queensPositions.get(queenIndex);
+        return columnConflicts.get(columnIndex) > 1
+                || mainDiagonalConflicts.get(getMainDiagonalIndex(queenIndex, columnIndex)) > 1
+                || secondDiagonalConflicts.get(getSecondDiagonalIndex(queenIndex, columnIndex)) > 1;
+    }
+
+    private int getSecondDiagonalIndex(int rowIndex, int columnIndex) {
+        return rowIndex + columnIndex;
+    }
+
+    // queensCount - 1 shifts the distance of the cell from the main diagonal into a valid index
+    private int getMainDiagonalIndex(int rowIndex, int columnIndex) {
+        return rowIndex - columnIndex + queensCount - 1;
+    }
+
+    private int getDiagonalConflicts(int rowIndex, int columnIndex) {
+        return mainDiagonalConflicts.get(getMainDiagonalIndex(rowIndex, columnIndex))
+                + secondDiagonalConflicts.get(getSecondDiagonalIndex(rowIndex, columnIndex));
+    }
+
+    // returns the index in the positions, at or after the row, of the column to take
+    private int chooseUntakenColumnIndex(int rowIndex) {
+        int bestIndex = -1;
+        int minimalConflicts = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int sample = 0; sample < COLUMN_SAMPLES; sample++) {
+            int index = rowIndex + random.nextInt(queensCount - rowIndex);
+            int conflicts = getDiagonalConflicts(rowIndex, queensPositions.get(index));
+            if (conflicts == 0) {
+                return index;
+            }
+            if (conflicts < minimalConflicts) {
+                minimalConflicts = conflicts;
+                bestIndex = index;
+                ties = 1;
+            } else if (conflicts == minimalConflicts && random.nextInt(++ties) == 0) {
+                bestIndex = index;
+            }
+        }
+        return bestIndex;
+    }
+
+    // Every other sample comes from the empty columns, dropping the ones taken since they were added
+    // and trying them anyway, the others are any column. The first free cell is taken, otherwise the best
+    // sample with ties broken at random.
+    private int chooseSampledCellWithMinimalConflicts(int rowIndex) {
+        int bestColumn = -1;
+        int minimalConflicts = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int sample = 0; sample < COLUMN_SAMPLES; sample++) {
+            int columnIndex;
+            if (sample % 2 == 0 && emptyColumns.size() > 0) {
+                int index = random.nextInt(emptyColumns.size());
+                columnIndex = emptyColumns.get(index);
+                if (columnConflicts.get(columnIndex) > 0) {
+                    emptyColumns.removeAt(index);
+                }
+            } else {
+                columnIndex = random.nextInt(queensCount);
+            }
+            int conflicts = columnConflicts.get(columnIndex) + getDiagonalConflicts(rowIndex, columnIndex);
+            if (conflicts == 0) {
+                return columnIndex;
+            }
+            if (conflicts < minimalConflicts) {
+                minimalConflicts = conflicts;
+                bestColumn = columnIndex;
+                ties = 1;
+            } else if (conflicts == minimalConflicts && random.nextInt(++ties) == 0) {
+                bestColumn = columnIndex;
+            }
+        }
+        return bestColumn;
+    }
+
+    // The best of a few queens drawn from the conflicted set, the stale ones being dropped on the way and
+    // not counted. Drawing is with replacement, so a small set may be looked at more than once.
+    private int chooseQueenWithMaximumConflicts() {
+        int chosenQueen = -1;
+        int maxConflicts = Integer.MIN_VALUE;
+        int ties = 0;
+        int samples = 0;
+        while (samples < TOURNAMENT_SIZE && conflictedQueens.size() > 0) {
+            int index = random.nextInt(conflictedQueens.size());
+            int queenIndex = conflictedQueens.get(index);
+            if (!isConflicted(queenIndex)) {
+                conflictedQueens.removeAt(index);
+                continue;
+            }
+            samples++;
+            int columnIndex = queensPositions.get(queenIndex);
+            int conflicts = columnConflicts.get(columnIndex) + getDiagonalConflicts(queenIndex, columnIndex);
+            if (conflicts > maxConflicts) {
+                maxConflicts = conflicts;
+                chosenQueen = queenIndex;
+                ties = 1;
+            } else if (conflicts == maxConflicts && random.nextInt(++ties) == 0) {
+                chosenQueen = queenIndex;
+            }
+        }
+        return chosenQueen;
+    }
+}
@@ -0,0 +1,48 @@
+package com.queens;
+
+import java.io.IOException;
+
+// A set of ints below a bound that holds a member at most once but never looks for one to remove it:
+// members go when whoever samples them finds them stale and removes them by their index. That needs a
+// bit per possible member instead of the int of an index, and the members are kept off the heap.
+final class LazyIntSet {
+    private final OffHeapIntArray members;
+    private final long[] memberFlags;
+    private int size;
+
+    LazyIntSet(OffHeapStorage storage, int bound) throws IOException {
+        this.members = new OffHeapIntArray(storage, bound);
+        this.memberFlags = new long[(bound + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    void add(int value) {
+        long flag = 1L << value;
+        if ((memberFlags[value >>> 6] & flag) == 0) {
+            memberFlags[value >>> 6] |= flag;
+            members.set(size++, value);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return members.get(index);
+    }
+
+    // the last member takes the place of the removed one
+    void removeAt(int index) {
+        int value = members.get(index);
+        memberFlags[value >>> 6] &= ~(1L << value);
+        members.set(index, members.get(--size));
+    }
+
+    void clear() {
+        for (int index = 0; index < size; index++) {
+            int value = members.get(index);
+            memberFlags[value >>> 6] &= ~(1L << value);
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,322 @@
+package com.queens;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The min-conflicts search shared by the solvers of this package: one queen per row, conflict counts per
+// column and diagonal, and an exact set of the queens in conflict. All arrays are allocated once and
+// reused by every restart, ties are broken by reservoir sampling and all choices come from one seedable
+// generator, so a step allocates nothing and a seed replays the same search.
+final class MinConflictsEngine {
+    // boards up to this size scan the whole row, larger ones only look at sampled columns
+    private static final int FULL_SCAN_LIMIT = 1024;
+    private static final int COLUMN_SAMPLES = 32;
+    private static final int TOURNAMENT_SIZE = 8;
+    private static final int NOT_CONFLICTED = -1;
+    // how often, in moves, a search looks at its cancellation flag
+    private static final int CANCELLATION_CHECK_INTERVAL = 256;
+    private static final AtomicBoolean NOT_CANCELLED = new AtomicBoolean();
+
+    private final int queensCount;
+    private final SplittableRandom random;
+    private final int[] queensPositions;
+    private final int[] columnConflicts;
+    private final int[] mainDiagonalConflicts;
+    private final int[] secondDiagonalConflicts;
+    // xor of the rows of the queens on every line, which is the row of the queen while it is alone there
+    private final int[] columnRows;
+    private final int[] mainDiagonalRows;
+    private final int[] secondDiagonalRows;
+    // the queens sharing at least one line with another queen, and where each of them is in that array
+    private final int[] conflictedQueens;
+    private final int[] conflictedQueenIndices;
+    private int conflictedQueensCount;
+    // the columns without a queen, kept the same way
+    private final int[] emptyColumns;
+    private final int[] emptyColumnIndices;
+    private int emptyColumnsCount;
+    private int movesMade;
+
+    MinConflictsEngine(int queensCount) {
+        this(queensCount, new SplittableRandom());
+    }
+
+    MinConflictsEngine(int queensCount, long seed) {
+        this(queensCount, new SplittableRandom(seed));
+    }
+
+    private MinConflictsEngine(int queensCount, SplittableRandom random) {
+        this.queensCount = queensCount;
+        this.random = random;
+        this.queensPositions = new int[queensCount];
+        this.columnConflicts = new int[queensCount];
+        this.mainDiagonalConflicts = new int[2 * queensCount - 1];
+        this.secondDiagonalConflicts = new int[2 * queensCount - 1];
+        this.columnRows = new int[queensCount];
+        this.mainDiagonalRows = new int[2 * queensCount - 1];
+        this.secondDiagonalRows = new int[2 * queensCount - 1];
+        this.conflictedQueens = new int[queensCount];
+        this.conflictedQueenIndices = new int[queensCount];
+        this.emptyColumns = new int[queensCount];
+        this.emptyColumnIndices = new int[queensCount];
+    }
+
+    // clears the board and places the queens row by row, each on a cell with minimal conflicts
+    void initialize() {
+        initialize(NOT_CANCELLED);
+    }
+
+    // the same, but gives up soon after the flag is set by someone else, leaving the board half filled;
+    // returns whether every queen was placed
+    boolean initialize(AtomicBoolean cancelled) {
+        movesMade = 0;
+        Arrays.fill(columnConflicts, 0);
+        Arrays.fill(mainDiagonalConflicts, 0);
+        Arrays.fill(secondDiagonalConflicts, 0);
+        Arrays.fill(columnRows, 0);
+        Arrays.fill(mainDiagonalRows, 0);
+        Arrays.fill(secondDiagonalRows, 0);
+        Arrays.fill(conflictedQueenIndices, NOT_CONFLICTED);
+        conflictedQueensCount = 0;
+        for (int columnIndex = 0; columnIndex < queensCount; columnIndex++) {
+            emptyColumns[columnIndex] = columnIndex;
+            emptyColumnIndices[columnIndex] = columnIndex;
+        }
+        emptyColumnsCount = queensCount;
+
+        for (int queenIndex = 0; queenIndex < queensCount; queenIndex++) {
+            if (queenIndex % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.get()) {
+                return false;
+            }
+            putQueen(queenIndex, chooseCellWithMinimalConflictsInRow(queenIndex, true));
+        }
+        return true;
+    }
+
+    // moves queens until no queen is in conflict or the moves since the last initialization reach the limit
+    void resolveConflicts(int maxNumberOfMoves) {
+        while (movesMade < maxNumberOfMoves && !isSolved()) {
+            step();
+        }
+    }
+
+    // the same, but also stops soon after the flag is set by someone else
+    void resolveConflicts(int maxNumberOfMoves, AtomicBoolean cancelled) {
+        while (movesMade < maxNumberOfMoves && !isSolved()) {
+            if (movesMade % CANCELLATION_CHECK_INTERVAL == 0 && cancelled.get()) {
+                return;
+            }
+            step();
+        }
+    }
+
+    // moves a queen with the most conflicts to a cell of its row with the fewest
+    void step() {
+        moveQueen(chooseQueenWithMaximumConflicts());
+    }
+
+    void moveQueen(int queenIndex) {
+        removeQueen(queenIndex, queensPositions[queenIndex]);
+        putQueen(queenIndex, chooseCellWithMinimalConflictsInRow(queenIndex, false));
+        movesMade++;
+    }
+
+    // puts a queen on the given column whatever the conflicts, which is how a benchmark unsettles a solution
+    void moveQueen(int queenIndex, int columnIndex) {
+        removeQueen(queenIndex, queensPositions[queenIndex]);
+        putQueen(queenIndex, columnIndex);
+    }
+
+    boolean isSolved() {
+        return conflictedQueensCount == 0;
+    }
+
+    int getMovesMade() {
+        return movesMade;
+    }
+
+    int getQueensCount() {
+        return queensCount;
+    }
+
+    int[] getQueensPositions() {
+        return queensPositions;
+    }
+
+    // places a queen in a specific cell and updates conflict counts
+    private void putQueen(int queenIndex, int columnIndex) {
+        queensPositions[queenIndex] = columnIndex;
+        adjustConflicts(queenIndex, columnIndex, 1);
+        if (isConflicted(queenIndex)) {
+            addConflictedQueen(queenIndex);
+        }
+    }
+
+    // removes a queen from a specific cell and updates conflict count
+    private void removeQueen(int queenIndex, int columnIndex) {
+        adjustConflicts(queenIndex, columnIndex, -1);
+        removeConflictedQueen(queenIndex);
+    }
+
+    // responsible for updating conflict count when a queen is placed or removed on the board
+    // ensures that the conflict information is kept up to date after each move
+    private void adjustConflicts(int queenIndex, int columnIndex, int step) {
+        // keeps track of how many queens share the same column, and which columns have none
+        adjustLine(columnConflicts, columnRows, columnIndex, queenIndex, step);
+        if (columnConflicts[columnIndex] == 0) {
+            addEmptyColumn(columnIndex);
+        } else if (columnConflicts[columnIndex] == 1 && step > 0) {
+            removeEmptyColumn(columnIndex);
+        }
+
+        int mainDiagonalIndex = getMainDiagonalIndex(queenIndex, columnIndex);
+        adjustLine(mainDiagonalConflicts, mainDiagonalRows, mainDiagonalIndex, queenIndex, step);
+
+        int secondDiagonalIndex = getSecondDiagonalIndex(queenIndex, columnIndex);
+        adjustLine(secondDiagonalConflicts, secondDiagonalRows, secondDiagonalIndex, queenIndex, step);
+    }
+
+    // A queen joining a line with a single queen puts that queen in conflict, and a queen leaving a line
+    // with two queens may take the last one out of conflict. Either way the single queen is the xor of
+    // the rows on the line, so the conflicted queens stay exact without looking for anyone.
+    private void adjustLine(int[] conflicts, int[] rows, int lineIndex, int queenIndex, int step) {
+        if (step > 0 && conflicts[lineIndex] == 1) {
+            addConflictedQueen(rows[lineIndex]);
+        }
+        conflicts[lineIndex] += step;
+        rows[lineIndex] ^= queenIndex;
+        if (step < 0 && conflicts[lineIndex] == 1 && !isConflicted(rows[lineIndex])) {
+            removeConflictedQueen(rows[lineIndex]);
+        }
+    }
+
+    private boolean isConflicted(int queenIndex) {
+        int columnIndex = queensPositions[queenIndex];
+        return columnConflicts[columnIndex] > 1
+                || mainDiagonalConflicts[getMainDiagonalIndex(queenIndex, columnIndex)] > 1
+                || secondDiagonalConflicts[getSecondDiagonalIndex(queenIndex, columnIndex)] > 1;
+    }
+
+    private void addConflictedQueen(int queenIndex) {
+        if (conflictedQueenIndices[queenIndex] == NOT_CONFLICTED) {
+            conflictedQueenIndices[queenIndex] = conflictedQueensCount;
+            conflictedQueens[conflictedQueensCount++] = queenIndex;
+        }
+    }
+
+    // the last queen of the array takes the place of the removed one
+    private void removeConflictedQueen(int queenIndex) {
+        int index = conflictedQueenIndices[queenIndex];
+        if (index != NOT_CONFLICTED) {
+            int lastQueen = conflictedQueens[--conflictedQueensCount];
+            conflictedQueens[index] = lastQueen;
+            conflictedQueenIndices[lastQueen] = index;
+            conflictedQueenIndices[queenIndex] = NOT_CONFLICTED;
+        }
+    }
+
+    private void addEmptyColumn(int columnIndex) {
+        emptyColumnIndices[columnIndex] = emptyColumnsCount;
+        emptyColumns[emptyColumnsCount++] = columnIndex;
+    }
+
+    private void removeEmptyColumn(int columnIndex) {
+        int index = emptyColumnIndices[columnIndex];
+        int lastColumn = emptyColumns[--emptyColumnsCount];
+        emptyColumns[index] = lastColumn;
+        emptyColumnIndices[lastColumn] = index;
+    }
+
+    private int getSecondDiagonalIndex(int rowIndex, int columnIndex) {
+        return rowIndex + columnIndex;
+    }
+
+    // queensCount - 1 shifts the distance of the cell from the main diagonal into a valid index
+    private int getMainDiagonalIndex(int rowIndex, int columnIndex) {
+        return rowIndex - columnIndex + queensCount - 1;
+    }
+
+    // calculates the total number of conflicts for a queen placed at a specific cell
+    private int getCellConflicts(int rowIndex, int columnIndex) {
+        int mainDiagonalIndex = getMainDiagonalIndex(rowIndex, columnIndex);
+        int secondDiagonalIndex = getSecondDiagonalIndex(rowIndex, columnIndex);
+        return columnConflicts[columnIndex] + mainDiagonalConflicts[mainDiagonalIndex] + secondDiagonalConflicts[secondDiagonalIndex];
+    }
+
+    // chooses a cell in the row with the minimum number of conflicts, the queen of the row being off the board
+    private int chooseCellWithMinimalConflictsInRow(int rowIndex, boolean initializing) {
+        if (queensCount <= FULL_SCAN_LIMIT) {
+            return scanCellWithMinimalConflictsInRow(rowIndex);
+        }
+        return chooseSampledCellWithMinimalConflicts(rowIndex, initializing);
+    }
+
+    // the i-th cell with the current minimum replaces the choice with probability 1 / i
+    private int scanCellWithMinimalConflictsInRow(int rowIndex) {
+        int bestColumn = -1;
+        int minimalConflicts = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int columnIndex = 0; columnIndex < queensCount; columnIndex++) {
+            int conflicts = getCellConflicts(rowIndex, columnIndex);
+            if (conflicts < minimalConflicts) {
+                minimalConflicts = conflicts;
+                bestColumn = columnIndex;
+                ties = 1;
+            } else if (conflicts == minimalConflicts && random.nextInt(++ties) == 0) {
+                bestColumn = columnIndex;
+            }
+        }
+        return bestColumn;
+    }
+
+    // A free cell needs an empty column, so while the board is filled only empty columns are sampled.
+    // When repairing, every other sample is any column, since the best move may well be to an occupied
+    // one. The first free cell is taken, otherwise the best sample with ties broken at random.
+    private int chooseSampledCellWithMinimalConflicts(int rowIndex, boolean initializing) {
+        int bestColumn = -1;
+        int minimalConflicts = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int sample = 0; sample < COLUMN_SAMPLES; sample++) {
+            int columnIndex = (initializing || sample % 2 == 0) && emptyColumnsCount > 0
+                    ? emptyColumns[random.nextInt(emptyColumnsCount)]
+                    : random.nextInt(queensCount);
+            int conflicts = getCellConflicts(rowIndex, columnIndex);
+            if (conflicts == 0) {
+                return columnIndex;
+            }
+            if (conflicts < minimalConflicts) {
+                minimalConflicts = conflicts;
+                bestColumn = columnIndex;
+                ties = 1;
+            } else if (conflicts == minimalConflicts && random.nextInt(++ties) == 0) {
+                bestColumn = columnIndex;
+            }
+        }
+        return bestColumn;
+    }
+
+    // Chooses a queen with the maximum number of conflicts among the conflicted queens. The conflicts of a
+    // queen change whenever any queen joins or leaves one of its lines, so they cannot be kept sorted at
+    // a constant cost; with many conflicted queens the best of a few random ones is taken instead.
+    private int chooseQueenWithMaximumConflicts() {
+        int candidates = Math.min(conflictedQueensCount, TOURNAMENT_SIZE);
+        int chosenQueen = -1;
+        int maxConflicts = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int candidate = 0; candidate < candidates; candidate++) {
+            int queenIndex = conflictedQueensCount <= TOURNAMENT_SIZE
+                    ? conflictedQueens[candidate]
+                    : conflictedQueens[random.nextInt(conflictedQueensCount)];
+            int conflicts = getCellConflicts(queenIndex, queensPositions[queenIndex]);
+            if (conflicts > maxConflicts) {
+                maxConflicts = conflicts;
+                chosenQueen = queenIndex;
+                ties = 1;
+            } else if (conflicts == maxConflicts && random.nextInt(++ties) == 0) {
+                chosenQueen = queenIndex;
+            }
+        }
+        return chosenQueen;
+    }
+}
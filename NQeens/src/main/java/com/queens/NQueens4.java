@@ -0,0 +1,211 @@
+package com.queens;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Queens as a permutation of columns, after Sosic and Gu: no two queens ever share a row or a column, so
+// only the diagonals can conflict and a move is a swap of two queens' columns. The board is filled
+// greedily with conflict-free queens, leaving a few rows at the end to chance, and then every attacked
+// queen is swapped with random others as long as that lowers the number of diagonal conflicts. The whole
+// state is the permutation and the two diagonal counts.
+public class NQueens4 {
+    // rows at the end of the board that are filled at random, the repairs take care of them
+    private static final int RANDOM_ROWS = 50;
+    // the greedy fill gives up after this many tries per queen on average
+    private static final double TRIES_PER_QUEEN = 3.08;
+    private static final int INITIAL_ATTACKED_ROWS = 2 * RANDOM_ROWS;
+
+    private final int queensCount;
+    private final SplittableRandom random;
+    private final int[] queensPositions;
+    private final int[] mainDiagonalConflicts;
+    private final int[] secondDiagonalConflicts;
+    private int[] attackedRows = new int[INITIAL_ATTACKED_ROWS];
+    // queens beyond the first on every diagonal, summed over all diagonals
+    private long conflicts;
+    private long swapsMade;
+
+    public NQueens4(int queensCount) {
+        this(queensCount, new SplittableRandom());
+    }
+
+    public NQueens4(int queensCount, long seed) {
+        this(queensCount, new SplittableRandom(seed));
+    }
+
+    private NQueens4(int queensCount, SplittableRandom random) {
+        this.queensCount = queensCount;
+        this.random = random;
+        this.queensPositions = new int[queensCount];
+        this.mainDiagonalConflicts = new int[2 * queensCount - 1];
+        this.secondDiagonalConflicts = new int[2 * queensCount - 1];
+    }
+
+    // Row by row, a random column out of the ones not taken yet is swapped in until its diagonals are
+    // free. The remaining rows keep the columns they get from a random shuffle.
+    private void initialize() {
+        long startTime = System.currentTimeMillis();
+        for (int row = 0; row < queensCount; row++) {
+            queensPositions[row] = row;
+        }
+        Arrays.fill(mainDiagonalConflicts, 0);
+        Arrays.fill(secondDiagonalConflicts, 0);
+        conflicts = 0;
+        swapsMade = 0;
+
+        long triesLeft = (long) (TRIES_PER_QUEEN * queensCount);
+        int row = 0;
+        while (row < queensCount - RANDOM_ROWS && triesLeft > 0) {
+            swapColumns(row, row + random.nextInt(queensCount - row));
+            triesLeft--;
+            if (isFree(row, queensPositions[row])) {
+                putQueen(row);
+                row++;
+            }
+        }
+        for (; row < queensCount; row++) {
+            swapColumns(row, row + random.nextInt(queensCount - row));
+            putQueen(row);
+        }
+        System.out.println("Execution time (init): " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+    }
+
+    // Collects the attacked queens and swaps each of them with random partners until it is safe. Swaps
+    // can attack queens that were safe, so this goes on until a collection finds none. Returns false when
+    // no attacked queen could be improved by any of as many tries as there are queens, in which case the
+    // board is stuck and only a restart will do.
+    private boolean resolveConflicts() {
+        while (conflicts > 0) {
+            int attackedCount = collectAttackedRows();
+            boolean improved = false;
+            for (int index = 0; index < attackedCount; index++) {
+                int row = attackedRows[index];
+                for (int tries = 0; tries < queensCount && isAttacked(row); tries++) {
+                    improved |= trySwap(row, random.nextInt(queensCount));
+                }
+            }
+            if (!improved) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int collectAttackedRows() {
+        int attackedCount = 0;
+        for (int row = 0; row < queensCount; row++) {
+            if (isAttacked(row)) {
+                if (attackedCount == attackedRows.length) {
+                    attackedRows = Arrays.copyOf(attackedRows, attackedCount * 2);
+                }
+                attackedRows[attackedCount++] = row;
+            }
+        }
+        return attackedCount;
+    }
+
+    // keeps the swap only if it lowers the conflicts
+    private boolean trySwap(int firstRow, int secondRow) {
+        if (firstRow == secondRow) {
+            return false;
+        }
+        long conflictsBefore = conflicts;
+        swapQueens(firstRow, secondRow);
+        if (conflicts < conflictsBefore) {
+            swapsMade++;
+            return true;
+        }
+        swapQueens(firstRow, secondRow);
+        return false;
+    }
+
+    private void swapQueens(int firstRow, int secondRow) {
+        removeQueen(firstRow);
+        removeQueen(secondRow);
+        swapColumns(firstRow, secondRow);
+        putQueen(firstRow);
+        putQueen(secondRow);
+    }
+
+    private void swapColumns(int firstRow, int secondRow) {
+        int column = queensPositions[firstRow];
+        queensPositions[firstRow] = queensPositions[secondRow];
+        queensPositions[secondRow] = column;
+    }
+
+    private void putQueen(int row) {
+        int column = queensPositions[row];
+        if (mainDiagonalConflicts[getMainDiagonalIndex(row, column)]++ > 0) {
+            conflicts++;
+        }
+        if (secondDiagonalConflicts[getSecondDiagonalIndex(row, column)]++ > 0) {
+            conflicts++;
+        }
+    }
+
+    private void removeQueen(int row) {
+        int column = queensPositions[row];
+        if (--mainDiagonalConflicts[getMainDiagonalIndex(row, column)] > 0) {
+            conflicts--;
+        }
+        if (--secondDiagonalConflicts[getSecondDiagonalIndex(row, column)] > 0) {
+            conflicts--;
+        }
+    }
+
+    private boolean isFree(int row, int column) {
+        return mainDiagonalConflicts[getMainDiagonalIndex(row, column)] == 0
+                && secondDiagonalConflicts[getSecondDiagonalIndex(row, column)] == 0;
+    }
+
+    private boolean isAttacked(int row) {
+        int column = queensPositions[row];
+        return mainDiagonalConflicts[getMainDiagonalIndex(row, column)] > 1
+                || secondDiagonalConflicts[getSecondDiagonalIndex(row, column)] > 1;
+    }
+
+    private int getMainDiagonalIndex(int row, int column) {
+        return row - column + queensCount - 1;
+    }
+
+    private int getSecondDiagonalIndex(int row, int column) {
+        return row + column;
+    }
+
+    private void solveBoard() {
+        long startTime = System.currentTimeMillis();
+        if (queensCount == 2 || queensCount == 3) {
+            System.out.println(-1);
+            return;
+        }
+        int randomRestarts = 0;
+        initialize();
+        while (!resolveConflicts()) {
+            initialize();
+            randomRestarts++;
+        }
+        System.out.println("Execution time (total): " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+        System.out.println("Random restarts: " + randomRestarts);
+        System.out.println("Swaps made: " + swapsMade);
+        printBoard();
+    }
+
+    private void printBoard() {
+        if (queensCount > 10) {
+            return;
+        }
+        for (int queen = 0; queen < queensCount; queen++) {
+            char[] row = new char[queensCount];
+            Arrays.fill(row, '_');
+            row[queensPositions[queen]] = '*';
+            System.out.println(new String(row));
+        }
+    }
+
+    // arguments: [queens count]
+    public static void main(String[] args) {
+        int queensCount = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        NQueens4 queens = new NQueens4(queensCount);
+        queens.solveBoard();
+    }
+}
@@ -0,0 +1,71 @@
+package com.queens;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// NQueens3 on CompactMinConflictsEngine, for boards too large for the heap. Given a directory, the board
+// is kept in files mapped from there instead of in memory.
+public class NQueens5 {
+    private final int queensCount;
+    private final int maxNumberOfMoves;
+    private final CompactMinConflictsEngine engine;
+
+    public NQueens5(int queensCount, int maxNumberOfMoves, Path directory) throws IOException {
+        this.queensCount = queensCount;
+        this.maxNumberOfMoves = maxNumberOfMoves;
+        this.engine = new CompactMinConflictsEngine(queensCount,
+                directory == null ? new OffHeapStorage() : new OffHeapStorage(directory));
+    }
+
+    private void initialize() {
+        long startTime = System.currentTimeMillis();
+        engine.initialize();
+        System.out.println("Execution time (init): " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+    }
+
+    private void solveBoard() {
+        long startTime = System.currentTimeMillis();
+        if (queensCount == 2 || queensCount == 3) {
+            System.out.println(-1);
+            return;
+        }
+        initialize();
+        int randomRestarts = 0;
+        while (!engine.isSolved()) {
+            engine.resolveConflicts(maxNumberOfMoves);
+            if (engine.isSolved()) {
+                break;
+            }
+            initialize();
+            randomRestarts++;
+        }
+        System.out.println("Execution time (total): " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+        System.out.println("Random restarts: " + randomRestarts);
+        System.out.println("Moves made: " + engine.getMovesMade());
+        printBoard();
+    }
+
+    private void printBoard() {
+        if (queensCount > 10) {
+            return;
+        }
+        for (int queen = 0; queen < queensCount; queen++) {
+            char[] row = new char[queensCount];
+            Arrays.fill(row, '_');
+            row[engine.getQueenPosition(queen)] = '*';
+            System.out.println(new String(row));
+        }
+    }
+
+    // arguments: [queens count] [max number of moves per restart, the queens count by default]
+    // [directory for the memory-mapped board, direct buffers by default]
+    // a board of N queens needs about 21 N bytes off the heap, see -XX:MaxDirectMemorySize
+    public static void main(String[] args) throws IOException {
+        int queensCount = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int maxNumberOfMoves = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(100, queensCount);
+        Path directory = args.length > 2 ? Path.of(args[2]) : null;
+        NQueens5 queens = new NQueens5(queensCount, maxNumberOfMoves, directory);
+        queens.solveBoard();
+    }
+}
@@ -0,0 +1,151 @@
+package com.queens;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Counts every solution by backtracking row by row over bitboards: the taken columns and the two sets of
+// attacked diagonals are long masks, the diagonals shifted by one column per row, and the free cells of a
+// row are walked lowest set bit first. A solution mirrored left to right is another solution, so the first
+// queen only tries the left half of the first row and those counts are doubled, the middle column of an odd
+// board counted once. The subtrees below the first two rows are the fork-join tasks.
+public class NQueensCounter {
+    // https://oeis.org/A000170, the number of solutions by queens count
+    private static final long[] KNOWN_TOTALS = {1, 1, 0, 0, 2, 10, 4, 40, 92, 352, 724, 2680, 14200, 73712,
+            365596, 2279184, 14772512, 95815104, 666090624, 4968057848L, 39029188884L, 314666222712L,
+            2691008701644L, 24233937684440L, 227514171973736L, 2207893435808352L, 22317699616364044L,
+            234907967154122528L};
+    // rows that are split into tasks, the ones below them are counted sequentially
+    private static final int SPLIT_ROWS = 2;
+    private static final int MAX_QUEENS_COUNT = Long.SIZE - 1;
+    private static final int DEFAULT_RUNS = 3;
+    private static final long WARM_UP_NANOS = 1_000_000_000L;
+
+    private final int queensCount;
+    private final long allColumns;
+
+    public NQueensCounter(int queensCount) {
+        if (queensCount < 1 || queensCount > MAX_QUEENS_COUNT) {
+            throw new IllegalArgumentException("Queens count must be between 1 and " + MAX_QUEENS_COUNT + ": " + queensCount);
+        }
+        this.queensCount = queensCount;
+        this.allColumns = (1L << queensCount) - 1;
+    }
+
+    public long count(ForkJoinPool pool) {
+        return pool.invoke(new SubtreeTask(0, 0, 0, 0));
+    }
+
+    private final class SubtreeTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int row;
+        private final long columns;
+        private final long leftDiagonals;
+        private final long rightDiagonals;
+
+        SubtreeTask(int row, long columns, long leftDiagonals, long rightDiagonals) {
+            this.row = row;
+            this.columns = columns;
+            this.leftDiagonals = leftDiagonals;
+            this.rightDiagonals = rightDiagonals;
+        }
+
+        @Override
+        protected Long compute() {
+            if (columns == allColumns) {
+                return 1L;
+            }
+            if (row == SPLIT_ROWS) {
+                return countSubtree(columns, leftDiagonals, rightDiagonals);
+            }
+            if (row == 0) {
+                long leftHalf = (1L << queensCount / 2) - 1;
+                long solutions = 2 * countChildren(leftHalf);
+                if (queensCount % 2 == 1) {
+                    solutions += countChildren(1L << queensCount / 2);
+                }
+                return solutions;
+            }
+            return countChildren(~(columns | leftDiagonals | rightDiagonals) & allColumns);
+        }
+
+        private long countChildren(long candidates) {
+            List<SubtreeTask> children = new ArrayList<>(Long.bitCount(candidates));
+            while (candidates != 0) {
+                long queen = candidates & -candidates;
+                candidates ^= queen;
+                children.add(new SubtreeTask(row + 1, columns | queen, (leftDiagonals | queen) << 1,
+                        (rightDiagonals | queen) >>> 1));
+            }
+            long solutions = 0;
+            for (SubtreeTask child : invokeAll(children)) {
+                solutions += child.join();
+            }
+            return solutions;
+        }
+    }
+
+    private long countSubtree(long columns, long leftDiagonals, long rightDiagonals) {
+        if (columns == allColumns) {
+            return 1;
+        }
+        long solutions = 0;
+        long candidates = ~(columns | leftDiagonals | rightDiagonals) & allColumns;
+        while (candidates != 0) {
+            long queen = candidates & -candidates;
+            candidates ^= queen;
+            solutions += countSubtree(columns | queen, (leftDiagonals | queen) << 1, (rightDiagonals | queen) >>> 1);
+        }
+        return solutions;
+    }
+
+    // Returns the best time of the runs, in seconds. The speedup is against the given single thread time,
+    // or none yet.
+    private double countSolutions(int threads, int runs, double singleThreadSeconds) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long solutions = 0;
+        double seconds = Double.MAX_VALUE;
+        try {
+            for (int run = 0; run < runs; run++) {
+                long startTime = System.nanoTime();
+                solutions = count(pool);
+                seconds = Math.min(seconds, (System.nanoTime() - startTime) / 1e9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (queensCount < KNOWN_TOTALS.length && solutions != KNOWN_TOTALS[queensCount]) {
+            throw new IllegalStateException("Counted " + solutions + " solutions for " + queensCount
+                    + " queens, expected " + KNOWN_TOTALS[queensCount]);
+        }
+        System.out.printf("Threads: %d, solutions: %d, time: %.3f s, solutions per second: %.0f, speedup: %.2f%n",
+                threads, solutions, seconds, solutions / seconds, singleThreadSeconds > 0 ? singleThreadSeconds / seconds : 1.0);
+        return seconds;
+    }
+
+    // arguments: [queens count] [max threads, one per core by default] [timed runs per thread count, 3 by default]
+    // counts with 1, 2, 4, ... threads up to the max to show the scaling, after untimed counts for a second
+    // or at least one to warm up the JIT, and reports the best of the runs so that a stray pause does not
+    // skew the speedup
+    public static void main(String[] args) {
+        int queensCount = args.length > 0 ? Integer.parseInt(args[0]) : 14;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+        NQueensCounter counter = new NQueensCounter(queensCount);
+        ForkJoinPool warmUpPool = new ForkJoinPool(maxThreads);
+        try {
+            long startTime = System.nanoTime();
+            do {
+                counter.count(warmUpPool);
+            } while (System.nanoTime() - startTime < WARM_UP_NANOS);
+        } finally {
+            warmUpPool.shutdown();
+        }
+        double singleThreadSeconds = counter.countSolutions(1, runs, 0);
+        for (int threads = 2; threads < maxThreads * 2; threads *= 2) {
+            counter.countSolutions(Math.min(threads, maxThreads), runs, singleThreadSeconds);
+        }
+    }
+}
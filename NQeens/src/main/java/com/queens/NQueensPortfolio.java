@@ -0,0 +1,128 @@
+package com.queens;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs one min-conflicts search with random restarts per thread, every one seeded differently. The first
+// search to solve the board sets the shared flag, which the others look at every few hundred rows while
+// they fill a board and every few hundred moves while they repair it, so a single lucky run decides the
+// time instead of the sum of the unlucky ones.
+public class NQueensPortfolio {
+    private final int queensCount;
+    private final int maxNumberOfMoves;
+    private final int threads;
+    private final SplittableRandom seeds;
+
+    public NQueensPortfolio(int queensCount, int maxNumberOfMoves, int threads) {
+        this(queensCount, maxNumberOfMoves, threads, new SplittableRandom());
+    }
+
+    public NQueensPortfolio(int queensCount, int maxNumberOfMoves, int threads, long seed) {
+        this(queensCount, maxNumberOfMoves, threads, new SplittableRandom(seed));
+    }
+
+    private NQueensPortfolio(int queensCount, int maxNumberOfMoves, int threads, SplittableRandom seeds) {
+        this.queensCount = queensCount;
+        this.maxNumberOfMoves = maxNumberOfMoves;
+        this.threads = threads;
+        this.seeds = seeds;
+    }
+
+    // what one search did until it solved the board or was cancelled
+    private static final class Worker {
+        private final MinConflictsEngine engine;
+        private int randomRestarts;
+        private long movesMade;
+        private boolean solved;
+
+        Worker(MinConflictsEngine engine) {
+            this.engine = engine;
+        }
+
+        // the flag is checked while the board is filled as well, which is most of the time of a large board
+        void run(int maxNumberOfMoves, AtomicBoolean finished) {
+            if (!engine.initialize(finished)) {
+                return;
+            }
+            while (true) {
+                engine.resolveConflicts(maxNumberOfMoves, finished);
+                movesMade += engine.getMovesMade();
+                if (engine.isSolved()) {
+                    solved = finished.compareAndSet(false, true);
+                    return;
+                }
+                if (!engine.initialize(finished)) {
+                    return;
+                }
+                randomRestarts++;
+            }
+        }
+    }
+
+    private void solveBoard() throws InterruptedException, ExecutionException {
+        long startTime = System.currentTimeMillis();
+        if (queensCount == 2 || queensCount == 3) {
+            System.out.println(-1);
+            return;
+        }
+        AtomicBoolean finished = new AtomicBoolean();
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Worker(new MinConflictsEngine(queensCount, seeds.nextLong())));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Worker worker : workers) {
+                futures.add(executor.submit(() -> worker.run(maxNumberOfMoves, finished)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        System.out.println("Execution time (total): " + (System.currentTimeMillis() - startTime) / 1000.0 + " seconds");
+        Worker winner = null;
+        for (int i = 0; i < workers.size(); i++) {
+            Worker worker = workers.get(i);
+            System.out.println("Worker " + i + ": random restarts: " + worker.randomRestarts + ", moves made: "
+                    + worker.movesMade + (worker.solved ? " (solved)" : ""));
+            if (worker.solved) {
+                winner = worker;
+            }
+        }
+        printBoard(winner.engine.getQueensPositions());
+    }
+
+    private void printBoard(int[] queensPositions) {
+        if (queensCount > 10) {
+            return;
+        }
+        for (int queen = 0; queen < queensCount; queen++) {
+            char[] row = new char[queensCount];
+            Arrays.fill(row, '_');
+            row[queensPositions[queen]] = '*';
+            System.out.println(new String(row));
+        }
+    }
+
+    // arguments: [queens count] [max number of moves per restart, the queens count by default]
+    // [threads, one per core by default]
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int queensCount = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int maxNumberOfMoves = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(100, queensCount);
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        NQueensPortfolio queens = new NQueensPortfolio(queensCount, maxNumberOfMoves, threads);
+        queens.solveBoard();
+    }
+}
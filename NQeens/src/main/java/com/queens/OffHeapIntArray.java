@@ -0,0 +1,34 @@
+package com.queens;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+// An int array off the heap, in chunks of a quarter of OffHeapStorage.CHUNK_BYTES ints.
+final class OffHeapIntArray {
+    private static final int CHUNK_BITS = OffHeapStorage.CHUNK_BITS - 2;
+    private static final int OFFSET_MASK = (1 << CHUNK_BITS) - 1;
+
+    private final ByteBuffer[] bytes;
+    private final IntBuffer[] chunks;
+
+    OffHeapIntArray(OffHeapStorage storage, int length) throws IOException {
+        this.bytes = storage.allocate((long) length * Integer.BYTES);
+        this.chunks = new IntBuffer[bytes.length];
+        for (int chunk = 0; chunk < bytes.length; chunk++) {
+            chunks[chunk] = bytes[chunk].asIntBuffer();
+        }
+    }
+
+    int get(int index) {
+        return chunks[index >>> CHUNK_BITS].get(index & OFFSET_MASK);
+    }
+
+    void set(int index, int value) {
+        chunks[index >>> CHUNK_BITS].put(index & OFFSET_MASK, value);
+    }
+
+    void clear() {
+        OffHeapStorage.clear(bytes);
+    }
+}
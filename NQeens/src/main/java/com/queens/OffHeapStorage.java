@@ -0,0 +1,63 @@
+package com.queens;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Hands out zeroed memory outside the heap, as direct buffers or, given a directory, as buffers mapped to
+// temporary files there, which the operating system pages out when the board does not fit in memory. A
+// buffer holds at most 2 GB, so every array is split into chunks of CHUNK_BYTES.
+final class OffHeapStorage {
+    static final int CHUNK_BITS = 30;
+    static final int CHUNK_BYTES = 1 << CHUNK_BITS;
+
+    // null for direct buffers
+    private final Path directory;
+
+    OffHeapStorage() {
+        this(null);
+    }
+
+    OffHeapStorage(Path directory) {
+        this.directory = directory;
+    }
+
+    ByteBuffer[] allocate(long bytes) throws IOException {
+        int chunksCount = (int) ((bytes + CHUNK_BYTES - 1) / CHUNK_BYTES);
+        ByteBuffer[] chunks = new ByteBuffer[chunksCount];
+        if (directory == null) {
+            for (int chunk = 0; chunk < chunksCount; chunk++) {
+                chunks[chunk] = ByteBuffer.allocateDirect(getChunkSize(bytes, chunk)).order(ByteOrder.nativeOrder());
+            }
+            return chunks;
+        }
+        // the file is gone once the channel is closed, the mappings stay valid until they are collected
+        Path file = Files.createTempFile(directory, "queens", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+            for (int chunk = 0; chunk < chunksCount; chunk++) {
+                chunks[chunk] = channel.map(FileChannel.MapMode.READ_WRITE, (long) chunk * CHUNK_BYTES,
+                        getChunkSize(bytes, chunk)).order(ByteOrder.nativeOrder());
+            }
+        }
+        return chunks;
+    }
+
+    private static int getChunkSize(long bytes, int chunk) {
+        return (int) Math.min(CHUNK_BYTES, bytes - (long) chunk * CHUNK_BYTES);
+    }
+
+    // writes zeros over all the chunks, for a restart
+    static void clear(ByteBuffer[] chunks) {
+        byte[] zeros = new byte[1 << 16];
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset < chunk.capacity(); offset += zeros.length) {
+                chunk.put(offset, zeros, 0, Math.min(zeros.length, chunk.capacity() - offset));
+            }
+        }
+    }
+}
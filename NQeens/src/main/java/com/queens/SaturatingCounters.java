@@ -0,0 +1,67 @@
+package com.queens;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+// The number of queens on every line as one unsigned byte off the heap. A counter stops at SATURATED and
+// whatever goes beyond is kept in a map, which only a line holding hundreds of queens ever needs, so the
+// usual step costs a byte read and write and the counts stay exact.
+final class SaturatingCounters {
+    private static final int SATURATED = 0xFF;
+    private static final int OFFSET_MASK = OffHeapStorage.CHUNK_BYTES - 1;
+
+    private final ByteBuffer[] chunks;
+    private final Map<Integer, Integer> spilled = new HashMap<>();
+
+    SaturatingCounters(OffHeapStorage storage, int length) throws IOException {
+        this.chunks = storage.allocate(length);
+    }
+
+    int get(int index) {
+        int value = getStored(index);
+        return value == SATURATED ? SATURATED + spilled.getOrDefault(index, 0) : value;
+    }
+
+    // returns the new count
+    int increment(int index) {
+        int value = getStored(index);
+        if (value < SATURATED) {
+            setStored(index, value + 1);
+            return value + 1;
+        }
+        return SATURATED + spilled.merge(index, 1, Integer::sum);
+    }
+
+    // returns the new count
+    int decrement(int index) {
+        int value = getStored(index);
+        if (value < SATURATED) {
+            setStored(index, value - 1);
+            return value - 1;
+        }
+        Integer spill = spilled.remove(index);
+        if (spill == null) {
+            setStored(index, SATURATED - 1);
+            return SATURATED - 1;
+        }
+        if (spill > 1) {
+            spilled.put(index, spill - 1);
+        }
+        return SATURATED + spill - 1;
+    }
+
+    void clear() {
+        OffHeapStorage.clear(chunks);
+        spilled.clear();
+    }
+
+    private int getStored(int index) {
+        return Byte.toUnsignedInt(chunks[index >>> OffHeapStorage.CHUNK_BITS].get(index & OFFSET_MASK));
+    }
+
+    private void setStored(int index, int value) {
+        chunks[index >>> OffHeapStorage.CHUNK_BITS].put(index & OFFSET_MASK, (byte) value);
+    }
+}
@@ -0,0 +1,27 @@
+package com.queens;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+    private static final String DEFAULT_INCLUDE = ".*";
+    private static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    // usage: BenchmarkRunner [benchmark regex] [result file]
+    // the gc profiler (-prof gc) reports the bytes allocated per operation next to every score
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        String result = args.length > 1 ? args[1] : DEFAULT_RESULT;
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackage().getName() + "\\..*(" + include + ").*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
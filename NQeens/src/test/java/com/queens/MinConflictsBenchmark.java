@@ -0,0 +1,50 @@
+package com.queens;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The steady-state min-conflicts step on a full scan board and on a sampled one. Once a board is solved
+// random queens are thrown onto random columns until one lands in conflict, so every call makes a real
+// repair move. With -prof gc the allocation rate should be zero bytes per operation.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinConflictsBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ "1000", "1000000" })
+    private int queensCount;
+
+    private MinConflictsEngine engine;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        engine = new MinConflictsEngine(queensCount, SEED);
+        random = new SplittableRandom(SEED);
+        engine.initialize();
+    }
+
+    @Benchmark
+    public int step() {
+        while (engine.isSolved()) {
+            engine.moveQueen(random.nextInt(queensCount), random.nextInt(queensCount));
+        }
+        engine.step();
+        return engine.getMovesMade();
+    }
+}